@@ -0,0 +1,39 @@
+#!/usr/bin/env bash
+# Measures time-to-first-request of the packaged application.
+#
+# Usage: scripts/benchmark-startup.sh [runs]
+#
+# Compares the plain fat jar against the fast-startup build (Spring AOT + CDS archive).
+# Build both first:
+#   mvn -DskipTests package && cp target/UserManagementApplication-0.0.1-SNAPSHOT.jar target/baseline.jar
+#   mvn -DskipTests -Pfast-startup package
+set -euo pipefail
+
+RUNS="${1:-5}"
+PORT="${PORT:-8080}"
+URL="http://localhost:${PORT}/.well-known/jwks.json"
+TARGET="$(dirname "$0")/../target"
+
+measure() {
+    local label="$1"; shift
+    local total=0
+    for run in $(seq 1 "$RUNS"); do
+        local start end elapsed
+        start=$(date +%s%N)
+        "$@" --server.port="$PORT" > /dev/null 2>&1 &
+        local pid=$!
+        until curl -sf -o /dev/null "$URL"; do sleep 0.02; done
+        end=$(date +%s%N)
+        kill "$pid"; wait "$pid" 2> /dev/null || true
+        elapsed=$(( (end - start) / 1000000 ))
+        total=$(( total + elapsed ))
+        echo "${label} run ${run}: ${elapsed} ms"
+    done
+    echo "${label} average: $(( total / RUNS )) ms"
+}
+
+measure "baseline" java -jar "$TARGET/baseline.jar"
+
+cd "$TARGET/application"
+measure "fast-startup" java -XX:SharedArchiveFile=application.jsa -Dspring.aot.enabled=true \
+    -Dspring.profiles.active=prod -jar UserManagementApplication-0.0.1-SNAPSHOT.jar
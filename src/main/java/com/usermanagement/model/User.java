@@ -1,23 +1,32 @@
 package com.usermanagement.model;
 
+import com.usermanagement.shared.utils.PhoneticKeys;
+import com.usermanagement.shared.utils.UuidV7Generator;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.SQLRestriction;
+import org.hibernate.annotations.UuidGenerator;
+import org.hibernate.type.SqlTypes;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
-@Builder
+@Builder(toBuilder = true)
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
 @Table(name = "users")
+@SQLRestriction("deleted_at IS NULL")
 public class User {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidGenerator(algorithm = UuidV7Generator.class)
+    @JdbcTypeCode(SqlTypes.BINARY)
+    @Column(length = 16)
     private UUID id;
 
     @Column(nullable = false)
@@ -44,4 +53,45 @@ public class User {
 
     @Column(nullable = false)
     private LocalDateTime createdAt;
+
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
+    @Column(length = 8)
+    private String firstNamePhonetic;
+
+    @Column(length = 8)
+    private String firstNamePhoneticAlt;
+
+    @Column(length = 8)
+    private String lastNamePhonetic;
+
+    @Column(length = 8)
+    private String lastNamePhoneticAlt;
+
+    private Integer birthMonthDay;
+
+    private LocalDateTime deletedAt;
+
+    // Written in batches by LoginTracker, never by saving the entity.
+    @Column(insertable = false, updatable = false)
+    private LocalDateTime lastLoginAt;
+
+    @Column(insertable = false, updatable = false)
+    private long loginCount;
+
+    public static int toMonthDay(LocalDate date) {
+        return date.getMonthValue() * 100 + date.getDayOfMonth();
+    }
+
+    @PrePersist
+    @PreUpdate
+    void updateDerivedColumns() {
+        firstNamePhonetic = PhoneticKeys.primary(firstName);
+        firstNamePhoneticAlt = PhoneticKeys.alternate(firstName);
+        lastNamePhonetic = PhoneticKeys.primary(lastName);
+        lastNamePhoneticAlt = PhoneticKeys.alternate(lastName);
+        birthMonthDay = dateOfBirth != null ? toMonthDay(dateOfBirth) : null;
+    }
 }
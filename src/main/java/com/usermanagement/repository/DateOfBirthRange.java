@@ -0,0 +1,36 @@
+package com.usermanagement.repository;
+
+import java.time.LocalDate;
+
+/**
+ * Inclusive date of birth bounds, either of which may be open.
+ */
+public record DateOfBirthRange(LocalDate from, LocalDate to) {
+
+    public static final DateOfBirthRange ANY = new DateOfBirthRange(null, null);
+
+    private static final LocalDate EARLIEST = LocalDate.of(1000, 1, 1);
+    private static final LocalDate LATEST = LocalDate.of(9999, 12, 31);
+
+    public boolean isBounded() {
+        return from != null || to != null;
+    }
+
+    public LocalDate lowerBound() {
+        return from != null ? from : EARLIEST;
+    }
+
+    public LocalDate upperBound() {
+        return to != null ? to : LATEST;
+    }
+
+    public boolean contains(LocalDate dateOfBirth) {
+        return !dateOfBirth.isBefore(lowerBound()) && !dateOfBirth.isAfter(upperBound());
+    }
+
+    public DateOfBirthRange intersect(LocalDate from, LocalDate to) {
+        return new DateOfBirthRange(
+                from == null || (this.from != null && this.from.isAfter(from)) ? this.from : from,
+                to == null || (this.to != null && this.to.isBefore(to)) ? this.to : to);
+    }
+}
@@ -0,0 +1,8 @@
+package com.usermanagement.repository;
+
+public interface UserContactView {
+
+    String getEmail();
+
+    String getPhoneNumber();
+}
@@ -0,0 +1,16 @@
+package com.usermanagement.repository;
+
+import com.usermanagement.model.UserRole;
+
+import java.util.UUID;
+
+public interface UserCredentialsView {
+
+    UUID getId();
+
+    String getEmail();
+
+    UserRole getRole();
+
+    String getPassword();
+}
@@ -0,0 +1,15 @@
+package com.usermanagement.repository;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+public interface UserNameView {
+
+    UUID getId();
+
+    String getFirstName();
+
+    String getLastName();
+
+    LocalDate getDateOfBirth();
+}
@@ -1,27 +1,89 @@
 package com.usermanagement.repository;
 
 import com.usermanagement.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, UUID> {
+public interface UserRepository extends JpaRepository<User, UUID>, UserRepositoryCustom {
 
     Optional<User> findByEmail(String email);
 
     Optional<User> findByPhoneNumber(String phoneNumber);
 
+    List<User> findAllByEmailIn(Collection<String> emails);
+
     List<User> findAllByOrderByLastNameAscDateOfBirthAsc();
 
+    List<User> findAllByDateOfBirthBetweenOrderByLastNameAscDateOfBirthAsc(LocalDate from, LocalDate to);
+
+    List<User> findAllByBirthMonthDayBetweenOrderByBirthMonthDayAscLastNameAsc(int from, int to);
+
+    // Matches a substring anywhere in the names, so no index can answer it and the table is scanned.
     @Query("SELECT u FROM User u WHERE " +
             "LOWER(u.firstName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
             "LOWER(u.lastName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) " +
             "ORDER BY u.lastName ASC, u.dateOfBirth ASC")
     List<User> searchUsers( String searchTerm);
 
+    @Query("SELECT u.role, COUNT(u) FROM User u GROUP BY u.role")
+    List<Object[]> countByRole();
+
+    @Query("SELECT CAST(u.createdAt AS LocalDate), COUNT(u) FROM User u " +
+            "WHERE u.createdAt >= :since GROUP BY CAST(u.createdAt AS LocalDate)")
+    List<Object[]> countSignupsPerDaySince(LocalDateTime since);
+
+    @Query("SELECT YEAR(u.dateOfBirth), COUNT(u) FROM User u GROUP BY YEAR(u.dateOfBirth)")
+    List<Object[]> countByBirthYear();
+
+    // One branch per key column so each is answered by its own index. Native, so soft deletes are excluded here.
+    // Each branch is cut at maxResults in id order, so a common key yields the oldest users and the same ones
+    // on every call. Up to four times maxResults rows come back, the caller ranks them and applies its limit.
+    @Query(value = "(SELECT * FROM users WHERE first_name_phonetic IN (:keys) AND deleted_at IS NULL " +
+            "ORDER BY id LIMIT :maxResults) " +
+            "UNION (SELECT * FROM users WHERE first_name_phonetic_alt IN (:keys) AND deleted_at IS NULL " +
+            "ORDER BY id LIMIT :maxResults) " +
+            "UNION (SELECT * FROM users WHERE last_name_phonetic IN (:keys) AND deleted_at IS NULL " +
+            "ORDER BY id LIMIT :maxResults) " +
+            "UNION (SELECT * FROM users WHERE last_name_phonetic_alt IN (:keys) AND deleted_at IS NULL " +
+            "ORDER BY id LIMIT :maxResults)", nativeQuery = true)
+    List<User> findAllByPhoneticKeys(Collection<String> keys, int maxResults);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<UserNameView> streamAllBy();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<UserCredentialsView> streamCredentialsBy();
+
+    // Soft deleted users keep their email and phone number until purged, so the native queries below count them.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query(value = "SELECT email, phone_number AS phoneNumber FROM users", nativeQuery = true)
+    Stream<UserContactView> streamContactsBy();
+
+    @Query(value = "SELECT COUNT(*) FROM users WHERE email = :email", nativeQuery = true)
+    long countByEmailIncludingDeleted(String email);
+
+    @Query(value = "SELECT COUNT(*) FROM users WHERE phone_number = :phoneNumber", nativeQuery = true)
+    long countByPhoneNumberIncludingDeleted(String phoneNumber);
+
+    // Only replaces the hash it was computed from, a concurrent password change wins.
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.password = :newPassword WHERE u.id = :id AND u.password = :oldPassword")
+    int updatePassword(UUID id, String oldPassword, String newPassword);
+
 }
\ No newline at end of file
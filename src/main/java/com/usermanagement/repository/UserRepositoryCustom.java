@@ -0,0 +1,13 @@
+package com.usermanagement.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+public interface UserRepositoryCustom {
+
+    List<Map<String, Object>> findAllProjected(List<String> fields, String searchTerm, DateOfBirthRange range);
+
+    int softDelete(UUID id, LocalDateTime deletedAt);
+}
@@ -0,0 +1,90 @@
+package com.usermanagement.repository;
+
+import com.usermanagement.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+public class UserRepositoryImpl implements UserRepositoryCustom {
+
+    private final EntityManager entityManager;
+
+    public UserRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    // Selects only the requested attributes, with the same filter and order as searchUsers and
+    // findAllByOrderByLastNameAscDateOfBirthAsc. Field names must be validated by the caller.
+    @Override
+    public List<Map<String, Object>> findAllProjected(List<String> fields, String searchTerm, DateOfBirthRange range) {
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<User> user = query.from(User.class);
+
+        query.multiselect(fields.stream()
+                .<Selection<?>>map(field -> user.get(field).alias(field))
+                .toList());
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (searchTerm != null) {
+            String pattern = "%" + searchTerm.toLowerCase(Locale.ROOT) + "%";
+            predicates.add(cb.or(
+                    cb.like(cb.lower(user.get("firstName")), pattern),
+                    cb.like(cb.lower(user.get("lastName")), pattern)));
+        }
+        if (range.isBounded()) {
+            predicates.add(cb.between(user.get("dateOfBirth"), range.lowerBound(), range.upperBound()));
+        }
+        query.where(predicates.toArray(Predicate[]::new));
+
+        query.orderBy(cb.asc(user.get("lastName")), cb.asc(user.get("dateOfBirth")));
+
+        return entityManager.createQuery(query)
+                .getResultList()
+                .stream()
+                .map(tuple -> {
+                    Map<String, Object> row = new LinkedHashMap<>();
+                    fields.forEach(field -> row.put(field, tuple.get(field)));
+                    return row;
+                })
+                .toList();
+    }
+
+    // Hides the user and queues it for UserPurgeJob in one transaction.
+    @Override
+    @Transactional
+    public int softDelete(UUID id, LocalDateTime deletedAt) {
+
+        int updated = entityManager.createQuery("UPDATE User u SET u.deletedAt = :deletedAt WHERE u.id = :id")
+                .setParameter("deletedAt", deletedAt)
+                .setParameter("id", id)
+                .executeUpdate();
+
+        if (updated == 1) {
+            entityManager.createNativeQuery("INSERT INTO user_deletions (user_id, deleted_at) VALUES (:id, :deletedAt)")
+                    .setParameter("id", ByteBuffer.allocate(16)
+                            .putLong(id.getMostSignificantBits())
+                            .putLong(id.getLeastSignificantBits())
+                            .array())
+                    .setParameter("deletedAt", deletedAt)
+                    .executeUpdate();
+        }
+
+        return updated;
+    }
+}
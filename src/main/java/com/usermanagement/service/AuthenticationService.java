@@ -2,11 +2,13 @@ package com.usermanagement.service;
 
 import com.usermanagement.model.User;
 import com.usermanagement.model.UserRole;
+import com.usermanagement.shared.exception.InvalidCredentialsException;
 import com.usermanagement.shared.exception.PhoneNumberAlreadyExistException;
 import com.usermanagement.shared.exception.UserAlreadyExistsException;
 import com.usermanagement.web.dto.CreateRequest;
 import com.usermanagement.web.dto.JwtAuthenticationResponse;
 import com.usermanagement.web.dto.LoginRequest;
+import io.micrometer.observation.annotation.Observed;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -16,18 +18,22 @@ import java.time.LocalDateTime;
 
 @Slf4j
 @Service
+@Observed(name = "authentication.service")
 public class AuthenticationService {
 
     private final UserService userService;
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
+    private final LoginTracker loginTracker;
 
     public AuthenticationService(UserService userService,
                                  PasswordEncoder passwordEncoder,
-                                 JwtService jwtService) {
+                                 JwtService jwtService,
+                                 LoginTracker loginTracker) {
         this.userService = userService;
         this.passwordEncoder = passwordEncoder;
         this.jwtService = jwtService;
+        this.loginTracker = loginTracker;
     }
 
     public JwtAuthenticationResponse createUser(CreateRequest createRequest) {
@@ -64,8 +70,20 @@ public class AuthenticationService {
 
     public JwtAuthenticationResponse login(LoginRequest loginRequest) {
 
+        // Always the database, a password changed on another node must stop working at once.
         User user = userService.getUserByEmail(loginRequest.getEmail());
 
+        if (!passwordEncoder.matches(loginRequest.getPassword(), user.getPassword())) {
+            throw new InvalidCredentialsException("Invalid email or password.");
+        }
+
+        if (passwordEncoder.upgradeEncoding(user.getPassword())) {
+            userService.upgradePasswordHash(user.getId(), user.getEmail(), user.getPassword(),
+                    passwordEncoder.encode(loginRequest.getPassword()));
+        }
+
+        loginTracker.record(user.getId());
+
         UserDetails userDetails = userService.loadUserByUsername(user.getEmail());
         String jwt = jwtService.generateToken(userDetails);
 
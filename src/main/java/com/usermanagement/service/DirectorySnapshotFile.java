@@ -0,0 +1,263 @@
+package com.usermanagement.service;
+
+import com.usermanagement.model.UserRole;
+import com.usermanagement.service.UserDirectorySnapshot.Entry;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Read-only, memory-mapped directory snapshot. The file holds a header, one record per user and an open
+ * addressing table of record offsets keyed by a hash of the email, so a lookup touches a few bytes of the mapping
+ * and nothing is read onto the heap up front. All reads use absolute positions, so instances are thread safe.
+ * Records are keyed by {@link #key(String)} of the email, matching the case-insensitive unique index.
+ * <pre>
+ * header: magic, taken at (epoch millis), entry count, table offset, table size
+ * record: key length + UTF-8, email length + UTF-8, id (16 bytes), role length + name,
+ *         password length + UTF-8
+ * table:  table size record offsets, 0 for an empty slot
+ * </pre>
+ */
+final class DirectorySnapshotFile {
+
+    private static final int MAGIC = 0x55445332;
+    private static final int HEADER_SIZE = 4 + 8 + 4 + 4 + 4;
+
+    private final MappedByteBuffer buffer;
+    private final Instant takenAt;
+    private final int entryCount;
+    private final int tableOffset;
+    private final int tableSize;
+
+    private DirectorySnapshotFile(MappedByteBuffer buffer) throws IOException {
+
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a directory snapshot.");
+        }
+
+        this.buffer = buffer;
+        this.takenAt = Instant.ofEpochMilli(buffer.getLong(4));
+        this.entryCount = buffer.getInt(12);
+        this.tableOffset = buffer.getInt(16);
+        this.tableSize = buffer.getInt(20);
+
+        if (Integer.bitCount(tableSize) != 1 || (long) tableOffset + 4L * tableSize != buffer.capacity()) {
+            throw new IOException("Truncated directory snapshot.");
+        }
+    }
+
+    static DirectorySnapshotFile open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Directory snapshot is too large to map.");
+            }
+            return new DirectorySnapshotFile(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Writes the entries to a temporary file next to {@code file} and moves it into place, so readers only ever
+     * see a complete snapshot. The temporary file is created readable by the owner only.
+     */
+    static int write(Path file, Instant takenAt, Iterator<Entry> entries) throws IOException {
+
+        Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temporary = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+
+        try {
+            int[] offsets = new int[1024];
+            int[] hashes = new int[1024];
+            int count = 0;
+
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+                DataOutputStream output = new DataOutputStream(new BufferedOutputStream(
+                        Channels.newOutputStream(channel), 64 * 1024));
+                output.write(new byte[HEADER_SIZE]);
+
+                long position = HEADER_SIZE;
+                while (entries.hasNext()) {
+                    Entry entry = entries.next();
+                    if (count == offsets.length) {
+                        offsets = Arrays.copyOf(offsets, count * 2);
+                        hashes = Arrays.copyOf(hashes, count * 2);
+                    }
+                    offsets[count] = (int) position;
+                    hashes[count] = key(entry.email()).hashCode();
+                    count++;
+
+                    position += writeRecord(output, entry);
+                    if (position > Integer.MAX_VALUE / 2) {
+                        throw new IOException("Directory snapshot is too large to map.");
+                    }
+                }
+
+                int tableSize = Integer.highestOneBit(Math.max(2, count * 2 - 1)) << 1;
+                int[] table = new int[tableSize];
+                for (int i = 0; i < count; i++) {
+                    int slot = mix(hashes[i]) & (tableSize - 1);
+                    while (table[slot] != 0) {
+                        slot = (slot + 1) & (tableSize - 1);
+                    }
+                    table[slot] = offsets[i];
+                }
+                for (int offset : table) {
+                    output.writeInt(offset);
+                }
+                output.flush();
+
+                channel.write(ByteBuffer.allocate(HEADER_SIZE)
+                        .putInt(MAGIC)
+                        .putLong(takenAt.toEpochMilli())
+                        .putInt(count)
+                        .putInt((int) position)
+                        .putInt(tableSize)
+                        .flip(), 0);
+                channel.force(true);
+            }
+
+            Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            return count;
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    Instant takenAt() {
+        return takenAt;
+    }
+
+    int size() {
+        return entryCount;
+    }
+
+    int tableSize() {
+        return tableSize;
+    }
+
+    // Folds emails the unique index treats as equal, MySQL's default collation ignores case and trailing spaces.
+    static String key(String email) {
+        return email.stripTrailing().toLowerCase(Locale.ROOT);
+    }
+
+    Entry get(String key) {
+        int slot = slotOf(key);
+        return slot < 0 ? null : entryAt(slot);
+    }
+
+    // The table slot holding the record for the key, or -1.
+    int slotOf(String key) {
+
+        byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+        int slot = mix(key.hashCode()) & (tableSize - 1);
+
+        for (int probes = 0; probes < tableSize; probes++) {
+            int offset = offsetAt(slot);
+            if (offset == 0) {
+                return -1;
+            }
+            if (keyEquals(offset, bytes)) {
+                return slot;
+            }
+            slot = (slot + 1) & (tableSize - 1);
+        }
+
+        return -1;
+    }
+
+    boolean isOccupied(int slot) {
+        return offsetAt(slot) != 0;
+    }
+
+    Entry entryAt(int slot) {
+
+        int position = offsetAt(slot);
+        position += 2 + Short.toUnsignedInt(buffer.getShort(position));
+
+        int emailLength = Short.toUnsignedInt(buffer.getShort(position));
+        String email = readString(position + 2, emailLength);
+        position += 2 + emailLength;
+
+        UUID id = new UUID(buffer.getLong(position), buffer.getLong(position + 8));
+        position += 16;
+
+        int roleLength = Byte.toUnsignedInt(buffer.get(position));
+        UserRole role = UserRole.valueOf(readString(position + 1, roleLength));
+        position += 1 + roleLength;
+
+        int passwordLength = Short.toUnsignedInt(buffer.getShort(position));
+        String password = readString(position + 2, passwordLength);
+
+        return new Entry(id, email, role, password);
+    }
+
+    private int offsetAt(int slot) {
+        return buffer.getInt(tableOffset + 4 * slot);
+    }
+
+    private boolean keyEquals(int offset, byte[] key) {
+
+        if (Short.toUnsignedInt(buffer.getShort(offset)) != key.length) {
+            return false;
+        }
+        for (int i = 0; i < key.length; i++) {
+            if (buffer.get(offset + 2 + i) != key[i]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private String readString(int position, int length) {
+        byte[] bytes = new byte[length];
+        buffer.get(position, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int writeRecord(DataOutputStream output, Entry entry) throws IOException {
+
+        byte[] key = key(entry.email()).getBytes(StandardCharsets.UTF_8);
+        byte[] email = entry.email().getBytes(StandardCharsets.UTF_8);
+        byte[] role = entry.role().name().getBytes(StandardCharsets.US_ASCII);
+        byte[] password = entry.password().getBytes(StandardCharsets.UTF_8);
+
+        output.writeShort(key.length);
+        output.write(key);
+        output.writeShort(email.length);
+        output.write(email);
+        output.writeLong(entry.id().getMostSignificantBits());
+        output.writeLong(entry.id().getLeastSignificantBits());
+        output.writeByte(role.length);
+        output.write(role);
+        output.writeShort(password.length);
+        output.write(password);
+
+        return 2 + key.length + 2 + email.length + 16 + 1 + role.length + 2 + password.length;
+    }
+
+    // Murmur3 finalizer, String.hashCode alone clusters similar emails into neighbouring slots.
+    private static int mix(int hash) {
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        hash *= 0xc2b2ae35;
+        hash ^= hash >>> 16;
+        return hash;
+    }
+}
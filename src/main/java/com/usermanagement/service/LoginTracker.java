@@ -0,0 +1,198 @@
+package com.usermanagement.service;
+
+import com.usermanagement.shared.config.LastLoginProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.ByteBuffer;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Records successful logins without writing on the login path. Logins are coalesced in memory to one entry per
+ * user, holding the latest login time and the number of logins since the last flush, and written as batched
+ * UPDATEs on an interval, once enough users are buffered, and on shutdown. A user logging in repeatedly between
+ * flushes costs a single row update.
+ */
+@Slf4j
+@Component
+public class LoginTracker {
+
+    private static final String UPDATE_SQL = "UPDATE users SET "
+            + "last_login_at = CASE WHEN last_login_at IS NULL OR last_login_at < ? THEN ? ELSE last_login_at END, "
+            + "login_count = login_count + ? WHERE id = ?";
+
+    private final ConcurrentHashMap<UUID, PendingLogin> pending = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final LastLoginProperties properties;
+    private final Clock clock;
+    private final Timer flushTimer;
+    private final Timer writeLag;
+
+    // Set while writes fail, so logins stop triggering flushes and retries wait for the interval.
+    private volatile boolean writesFailing;
+
+    public LoginTracker(JdbcTemplate jdbcTemplate,
+                        PlatformTransactionManager transactionManager,
+                        LastLoginProperties properties,
+                        Clock clock,
+                        MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+        this.clock = clock;
+
+        this.flushTimer = Timer.builder("users.last.login.flush")
+                .description("Time taken to write buffered logins")
+                .register(meterRegistry);
+        this.writeLag = Timer.builder("users.last.login.write.lag")
+                .description("Time from a user's first buffered login to its row being updated")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        Gauge.builder("users.last.login.buffered", pending, Map::size)
+                .description("Users with logins not yet written")
+                .register(meterRegistry);
+        TimeGauge.builder("users.last.login.lag", this, TimeUnit.NANOSECONDS, LoginTracker::oldestPendingNanos)
+                .description("Age of the oldest login not yet written")
+                .register(meterRegistry);
+    }
+
+    public void record(UUID userId) {
+
+        pending.merge(userId, new PendingLogin(LocalDateTime.now(clock), 1, System.nanoTime()), PendingLogin::merge);
+
+        // The login that crosses the threshold hands the flush to a background thread and returns.
+        if (pending.size() >= properties.getFlushThreshold() && !writesFailing
+                && flushRequested.compareAndSet(false, true)) {
+            Thread.ofVirtual().name("last-login-flush").start(this::flush);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.last-login.flush-interval:PT10S}",
+            initialDelayString = "${app.last-login.flush-interval:PT10S}")
+    public int flush() {
+
+        flushLock.lock();
+        try {
+            flushRequested.set(false);
+            return flushTimer.record(this::writePending);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        int written = flush();
+        if (written > 0 || !pending.isEmpty()) {
+            log.info("Wrote [{}] buffered logins on shutdown, [{}] could not be written.", written, pending.size());
+        }
+    }
+
+    private int writePending() {
+
+        List<Map.Entry<UUID, PendingLogin>> batch = new ArrayList<>(properties.getBatchSize());
+        int written = 0;
+
+        // Each entry is removed before it is written, logins arriving meanwhile start a new entry.
+        for (UUID userId : pending.keySet()) {
+            PendingLogin login = pending.remove(userId);
+            if (login == null) {
+                continue;
+            }
+            batch.add(Map.entry(userId, login));
+            if (batch.size() == properties.getBatchSize()) {
+                if (!write(batch)) {
+                    return written;
+                }
+                written += batch.size();
+                batch.clear();
+            }
+        }
+
+        if (!batch.isEmpty() && write(batch)) {
+            written += batch.size();
+        }
+
+        return written;
+    }
+
+    private boolean write(List<Map.Entry<UUID, PendingLogin>> batch) {
+
+        // One transaction per batch, so a batch that fails partway leaves no rows updated when it is put back.
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.batchUpdate(UPDATE_SQL, batch, batch.size(), (statement, entry) -> {
+                        Timestamp lastLoginAt = Timestamp.valueOf(entry.getValue().lastLoginAt());
+                        statement.setTimestamp(1, lastLoginAt);
+                        statement.setTimestamp(2, lastLoginAt);
+                        statement.setLong(3, entry.getValue().count());
+                        statement.setBytes(4, toBytes(entry.getKey()));
+                    }));
+        } catch (DataAccessException | TransactionException e) {
+            // Put the batch back, it is retried with whatever arrives before the next flush.
+            batch.forEach(entry -> pending.merge(entry.getKey(), entry.getValue(), PendingLogin::merge));
+            log.warn("Failed to write [{}] buffered logins, keeping them for the next flush.", batch.size(), e);
+            writesFailing = true;
+            return false;
+        }
+
+        writesFailing = false;
+
+        long now = System.nanoTime();
+        batch.forEach(entry -> writeLag.record(now - entry.getValue().firstRecordedNanos(), TimeUnit.NANOSECONDS));
+
+        return true;
+    }
+
+    private double oldestPendingNanos() {
+
+        long now = System.nanoTime();
+        long oldest = 0;
+        for (PendingLogin login : pending.values()) {
+            oldest = Math.max(oldest, now - login.firstRecordedNanos());
+        }
+
+        return oldest;
+    }
+
+    private static byte[] toBytes(UUID id) {
+        return ByteBuffer.allocate(16)
+                .putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits())
+                .array();
+    }
+
+    private record PendingLogin(LocalDateTime lastLoginAt, long count, long firstRecordedNanos) {
+
+        private PendingLogin merge(PendingLogin other) {
+            return new PendingLogin(
+                    lastLoginAt.isAfter(other.lastLoginAt) ? lastLoginAt : other.lastLoginAt,
+                    count + other.count,
+                    Math.min(firstRecordedNanos, other.firstRecordedNanos));
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.usermanagement.service;
+
+import com.usermanagement.model.User;
+
+/**
+ * A committed change to a user. {@code previous} holds the state before an update and is null otherwise.
+ */
+public record UserChangedEvent(Type type, User user, User previous) {
+
+    public UserChangedEvent(Type type, User user) {
+        this(type, user, null);
+    }
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+}
@@ -0,0 +1,266 @@
+package com.usermanagement.service;
+
+import com.usermanagement.model.User;
+import com.usermanagement.model.UserRole;
+import com.usermanagement.repository.UserCredentialsView;
+import com.usermanagement.repository.UserRepository;
+import com.usermanagement.shared.config.DirectorySnapshotProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.BitSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+/**
+ * Credentials of every user in a memory-mapped file, so principal lookups after a restart are answered without
+ * the database while it warms up. The file is written periodically and on shutdown, mapped at startup and then
+ * reconciled against the database in the background. Emails whose rows differ from the snapshot, and emails
+ * changed on this node since, are looked up in the database instead. Entries are only served while the snapshot
+ * was checked against the database within {@code max-staleness}, after that it is released.
+ */
+@Slf4j
+@Component
+public class UserDirectorySnapshot {
+
+    public record Entry(UUID id, String email, UserRole role, String password) {
+    }
+
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final DirectorySnapshotProperties properties;
+    private final Clock clock;
+    private final Counter hits;
+    private final Counter misses;
+
+    // Keys of emails that may differ from the mapped snapshot.
+    private final Set<String> changed = ConcurrentHashMap.newKeySet();
+    private final AtomicReference<Mapped> mapped = new AtomicReference<>();
+
+    public UserDirectorySnapshot(UserRepository userRepository,
+                                 PlatformTransactionManager transactionManager,
+                                 DirectorySnapshotProperties properties,
+                                 Clock clock,
+                                 MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.properties = properties;
+        this.clock = clock;
+
+        this.hits = counter(meterRegistry, "hit");
+        this.misses = counter(meterRegistry, "miss");
+    }
+
+    @PostConstruct
+    void open() {
+
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        Path file = Path.of(properties.getFile());
+        try {
+            DirectorySnapshotFile snapshot = DirectorySnapshotFile.open(file);
+            if (isStale(snapshot.takenAt())) {
+                log.info("Ignoring the directory snapshot taken at [{}], it is too old.", snapshot.takenAt());
+                return;
+            }
+            changed.clear();
+            mapped.set(new Mapped(snapshot, snapshot.takenAt()));
+            log.info("Mapped the directory snapshot of [{}] users taken at [{}].", snapshot.size(), snapshot.takenAt());
+        } catch (NoSuchFileException e) {
+            log.info("No directory snapshot at [{}], principal lookups go to the database.", file);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to map the directory snapshot at [{}], principal lookups go to the database.", file, e);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcileInBackground() {
+        if (mapped.get() != null) {
+            Thread.ofVirtual().name("directory-snapshot-reconcile").start(this::reconcile);
+        }
+    }
+
+    public Optional<Entry> find(String email) {
+
+        Mapped current = mapped.get();
+        if (current == null) {
+            return Optional.empty();
+        }
+        if (isStale(current.verifiedAt())) {
+            release(current);
+            return Optional.empty();
+        }
+
+        String key = DirectorySnapshotFile.key(email);
+        Entry entry = changed.contains(key) ? null : current.snapshot().get(key);
+        (entry == null ? misses : hits).increment();
+
+        return Optional.ofNullable(entry);
+    }
+
+    /**
+     * Compares the mapped snapshot with the database and marks every email whose row was changed, added or
+     * removed since it was taken. Returns the number of emails marked.
+     */
+    int reconcile() {
+
+        Mapped current = mapped.get();
+        if (current == null) {
+            return 0;
+        }
+
+        Instant start = clock.instant();
+        DirectorySnapshotFile snapshot = current.snapshot();
+        BitSet seen = new BitSet(snapshot.tableSize());
+        int before = changed.size();
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                try (Stream<UserCredentialsView> users = userRepository.streamCredentialsBy()) {
+                    users.forEach(user -> {
+                        String key = DirectorySnapshotFile.key(user.getEmail());
+                        int slot = snapshot.slotOf(key);
+                        if (slot < 0) {
+                            return;
+                        }
+                        seen.set(slot);
+                        if (!matches(snapshot.entryAt(slot), user)) {
+                            changed.add(key);
+                        }
+                    });
+                }
+            });
+        } catch (RuntimeException e) {
+            log.warn("Failed to reconcile the directory snapshot, it is served until it is too old.", e);
+            return 0;
+        }
+
+        // Users in the snapshot that are gone from the database.
+        for (int slot = 0; slot < snapshot.tableSize(); slot++) {
+            if (snapshot.isOccupied(slot) && !seen.get(slot)) {
+                changed.add(DirectorySnapshotFile.key(snapshot.entryAt(slot).email()));
+            }
+        }
+
+        // Rows read early in the scan may have changed on other nodes since, so the check counts from its start.
+        mapped.compareAndSet(current, new Mapped(snapshot, start));
+
+        int marked = changed.size() - before;
+        log.info("Reconciled the directory snapshot with the database in [{}] ms, [{}] emails changed.",
+                Duration.between(start, clock.instant()).toMillis(), marked);
+
+        return marked;
+    }
+
+    @Scheduled(fixedDelayString = "${app.directory-snapshot.write-interval:PT5M}",
+            initialDelayString = "${app.directory-snapshot.write-interval:PT5M}")
+    public int write() {
+
+        if (!properties.isEnabled()) {
+            return 0;
+        }
+
+        Instant takenAt = clock.instant();
+        Path file = Path.of(properties.getFile());
+        try {
+            Integer written = transactionTemplate.execute(status -> {
+                try (Stream<UserCredentialsView> users = userRepository.streamCredentialsBy()) {
+                    return DirectorySnapshotFile.write(file, takenAt, users.map(UserDirectorySnapshot::toEntry)
+                            .iterator());
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            log.debug("Wrote [{}] users to the directory snapshot in [{}] ms.",
+                    written, Duration.between(takenAt, clock.instant()).toMillis());
+            return written == null ? 0 : written;
+        } catch (RuntimeException e) {
+            log.warn("Failed to write the directory snapshot to [{}].", file, e);
+            return 0;
+        }
+    }
+
+    @PreDestroy
+    void writeOnShutdown() {
+        write();
+    }
+
+    /**
+     * Looks the email up in the database from now on, for changes that publish no {@link UserChangedEvent}.
+     */
+    public void invalidate(String email) {
+        if (mapped.get() != null) {
+            changed.add(DirectorySnapshotFile.key(email));
+        }
+    }
+
+    // UserService saves outside a transaction, so this runs once the row is committed and a lookup racing the
+    // save can still get the old entry. Changes made on other nodes after the reconcile are only dropped with the
+    // whole snapshot once max-staleness has passed.
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+
+        invalidate(event.user().getEmail());
+        User previous = event.previous();
+        if (previous != null) {
+            invalidate(previous.getEmail());
+        }
+    }
+
+    private void release(Mapped current) {
+        if (mapped.compareAndSet(current, null)) {
+            changed.clear();
+            log.info("Released the directory snapshot, it was last checked against the database at [{}].",
+                    current.verifiedAt());
+        }
+    }
+
+    private boolean isStale(Instant verifiedAt) {
+        return Duration.between(verifiedAt, clock.instant()).compareTo(properties.getMaxStaleness()) > 0;
+    }
+
+    private static boolean matches(Entry entry, UserCredentialsView user) {
+        return entry.id().equals(user.getId())
+                && entry.role() == user.getRole()
+                && entry.password().equals(user.getPassword())
+                && entry.email().equals(user.getEmail());
+    }
+
+    private static Entry toEntry(UserCredentialsView user) {
+        return new Entry(user.getId(), user.getEmail(), user.getRole(), user.getPassword());
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("users.directory.snapshot.lookups")
+                .description("Principal lookups by whether the directory snapshot answered")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private record Mapped(DirectorySnapshotFile snapshot, Instant verifiedAt) {
+    }
+}
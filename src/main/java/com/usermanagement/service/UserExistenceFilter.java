@@ -0,0 +1,162 @@
+package com.usermanagement.service;
+
+import com.usermanagement.model.User;
+import com.usermanagement.repository.UserContactView;
+import com.usermanagement.repository.UserRepository;
+import com.usermanagement.shared.utils.BloomFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Bloom filters over the emails and phone numbers in use, so registration checks for a new email or phone
+ * number skip the database. A value the filter reports as present is confirmed against the unique index.
+ * Values are never removed, changed or deleted users only add false positives until the nightly rebuild.
+ */
+@Slf4j
+@Component
+public class UserExistenceFilter {
+
+    public enum Key {EMAIL, PHONE_NUMBER}
+
+    static final double FALSE_POSITIVE_PROBABILITY = 0.01;
+    static final long MIN_CAPACITY = 100_000;
+
+    private final UserRepository userRepository;
+    private final Map<Key, Counter> skipped = new EnumMap<>(Key.class);
+    private final Map<Key, Counter> confirmed = new EnumMap<>(Key.class);
+    private final Map<Key, Counter> falsePositives = new EnumMap<>(Key.class);
+
+    // Null until the first load, lookups go to the database meanwhile.
+    private volatile Map<Key, BloomFilter> filters;
+    // Filters being rebuilt, written to alongside the live ones.
+    private volatile Map<Key, BloomFilter> pending;
+
+    public UserExistenceFilter(UserRepository userRepository, MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+
+        for (Key key : Key.values()) {
+            String tag = key.name().toLowerCase(Locale.ROOT);
+            skipped.put(key, counter(meterRegistry, tag, "skipped"));
+            confirmed.put(key, counter(meterRegistry, tag, "confirmed"));
+            falsePositives.put(key, counter(meterRegistry, tag, "false_positive"));
+
+            Gauge.builder("users.existence.filter.false.positive.rate", this, filter -> filter.falsePositiveRate(key))
+                    .description("Share of absent values the filter reported as present")
+                    .tag("key", tag)
+                    .register(meterRegistry);
+            Gauge.builder("users.existence.filter.expected.false.positive.probability", this,
+                            filter -> filter.expectedFalsePositiveProbability(key))
+                    .description("False positive probability implied by the filter's fill ratio")
+                    .tag("key", tag)
+                    .register(meterRegistry);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${app.existence-filter.rebuild-cron:0 0 4 * * *}")
+    @Transactional(readOnly = true)
+    public void rebuild() {
+
+        long start = System.nanoTime();
+        long capacity = Math.max(MIN_CAPACITY, 2 * userRepository.count());
+
+        Map<Key, BloomFilter> rebuilt = new EnumMap<>(Key.class);
+        for (Key key : Key.values()) {
+            rebuilt.put(key, new BloomFilter(capacity, FALSE_POSITIVE_PROBABILITY));
+        }
+        pending = rebuilt;
+
+        long count = 0;
+        try (Stream<UserContactView> users = userRepository.streamContactsBy()) {
+            for (UserContactView user : (Iterable<UserContactView>) users::iterator) {
+                rebuilt.get(Key.EMAIL).add(normalize(user.getEmail()));
+                rebuilt.get(Key.PHONE_NUMBER).add(normalize(user.getPhoneNumber()));
+                count++;
+            }
+        }
+
+        filters = rebuilt;
+        pending = null;
+
+        log.info("Loaded [{}] users into the existence filters sized for [{}] in [{}] ms.",
+                count, capacity, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // Runs once the row is committed, so a rebuild whose scan missed it still gets the value. A registration for
+    // the same value on another node, or racing this one, can pass the filter and is then rejected by the unique
+    // index (409).
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        add(event);
+    }
+
+    public boolean exists(Key key, String value, Predicate<String> lookup) {
+
+        Map<Key, BloomFilter> current = filters;
+        if (current != null && !current.get(key).mightContain(normalize(value))) {
+            skipped.get(key).increment();
+            return false;
+        }
+
+        boolean exists = lookup.test(value);
+        if (current != null) {
+            (exists ? confirmed : falsePositives).get(key).increment();
+        }
+
+        return exists;
+    }
+
+    private void add(UserChangedEvent event) {
+
+        if (event.type() == UserChangedEvent.Type.DELETED) {
+            return;
+        }
+
+        add(filters, event.user());
+        add(pending, event.user());
+    }
+
+    private static void add(Map<Key, BloomFilter> target, User user) {
+        if (target != null) {
+            target.get(Key.EMAIL).add(normalize(user.getEmail()));
+            target.get(Key.PHONE_NUMBER).add(normalize(user.getPhoneNumber()));
+        }
+    }
+
+    private double falsePositiveRate(Key key) {
+        double negatives = skipped.get(key).count() + falsePositives.get(key).count();
+        return negatives == 0 ? 0 : falsePositives.get(key).count() / negatives;
+    }
+
+    private double expectedFalsePositiveProbability(Key key) {
+        Map<Key, BloomFilter> current = filters;
+        return current == null ? 0 : current.get(key).expectedFalsePositiveProbability();
+    }
+
+    // Folds values the unique index treats as equal, MySQL's default collation ignores case and trailing spaces.
+    private static String normalize(String value) {
+        return value.stripTrailing().toLowerCase(Locale.ROOT);
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String key, String result) {
+        return Counter.builder("users.existence.filter.lookups")
+                .description("Existence checks by whether the filter answered or the database was asked")
+                .tag("key", key)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
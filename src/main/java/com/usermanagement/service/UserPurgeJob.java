@@ -0,0 +1,89 @@
+package com.usermanagement.service;
+
+import com.usermanagement.shared.config.UserPurgeProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hard deletes soft deleted users in small chunks, pausing between them. Chunks are read from the
+ * user_deletions queue in {@code (deleted_at, user_id)} order starting where the previous one ended, so each
+ * one is a short range scan of its index, and each chunk is deleted in its own short transaction.
+ */
+@Slf4j
+@Component
+public class UserPurgeJob {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final UserPurgeProperties properties;
+    private final Clock clock;
+
+    public UserPurgeJob(JdbcTemplate jdbcTemplate,
+                        PlatformTransactionManager transactionManager,
+                        UserPurgeProperties properties,
+                        Clock clock) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+        this.clock = clock;
+    }
+
+    @Scheduled(fixedDelayString = "${app.purge.interval:PT1M}", initialDelayString = "${app.purge.interval:PT1M}")
+    public int purge() throws InterruptedException {
+
+        Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now(clock).minus(properties.getRetention()));
+        long start = System.nanoTime();
+        int purged = 0;
+
+        List<Map<String, Object>> chunk = jdbcTemplate.queryForList(
+                "SELECT user_id, deleted_at FROM user_deletions WHERE deleted_at <= ? "
+                        + "ORDER BY deleted_at, user_id LIMIT ?",
+                cutoff, properties.getChunkSize());
+        while (!chunk.isEmpty()) {
+            purged += delete(chunk.stream().map(row -> row.get("user_id")).toArray());
+
+            if (chunk.size() < properties.getChunkSize()) {
+                break;
+            }
+            Thread.sleep(properties.getPause());
+
+            Map<String, Object> last = chunk.getLast();
+            chunk = jdbcTemplate.queryForList(
+                    "SELECT user_id, deleted_at FROM user_deletions WHERE deleted_at <= ? "
+                            + "AND (deleted_at > ? OR (deleted_at = ? AND user_id > ?)) "
+                            + "ORDER BY deleted_at, user_id LIMIT ?",
+                    cutoff, last.get("deleted_at"), last.get("deleted_at"), last.get("user_id"),
+                    properties.getChunkSize());
+        }
+
+        if (purged > 0) {
+            log.info("Purged [{}] soft deleted users in [{}] ms.", purged, (System.nanoTime() - start) / 1_000_000);
+        }
+
+        return purged;
+    }
+
+    private int delete(Object[] userIds) {
+
+        String placeholders = String.join(", ", Collections.nCopies(userIds.length, "?"));
+        Integer deleted = transactionTemplate.execute(status -> {
+            int users = jdbcTemplate.update(
+                    "DELETE FROM users WHERE deleted_at IS NOT NULL AND id IN (" + placeholders + ")", userIds);
+            jdbcTemplate.update("DELETE FROM user_deletions WHERE user_id IN (" + placeholders + ")", userIds);
+            return users;
+        });
+
+        return deleted == null ? 0 : deleted;
+    }
+}
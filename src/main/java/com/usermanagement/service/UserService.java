@@ -1,12 +1,20 @@
 package com.usermanagement.service;
 
 import com.usermanagement.model.User;
+import com.usermanagement.repository.DateOfBirthRange;
 import com.usermanagement.repository.UserRepository;
+import com.usermanagement.shared.exception.InvalidFilterException;
 import com.usermanagement.shared.exception.PhoneNumberAlreadyExistException;
+import com.usermanagement.shared.exception.PreconditionFailedException;
 import com.usermanagement.shared.exception.UserAlreadyExistsException;
 import com.usermanagement.shared.exception.UserNotFoundException;
+import com.usermanagement.shared.utils.EditDistance;
+import com.usermanagement.shared.utils.PhoneticKeys;
 import com.usermanagement.web.dto.UpdateRequest;
+import io.micrometer.observation.annotation.Observed;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -14,29 +22,70 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
-import java.util.Optional;
-import java.util.UUID;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
 
 @Slf4j
 @Service
+@Observed(name = "user.service")
 public class UserService implements UserDetailsService {
 
+    private static final int LOOKUP_CHUNK_SIZE = 100;
+    private static final int MAX_UPDATE_ATTEMPTS = 3;
+    private static final int MAX_FUZZY_CANDIDATES_PER_COLUMN = 1_000;
+    private static final int MAX_FUZZY_RESULTS = 50;
+    private static final int MAX_BIRTHDAY_WINDOW_DAYS = 364;
+    private static final int JANUARY_1 = 101;
+    private static final int FEBRUARY_28 = 228;
+    private static final int FEBRUARY_29 = 229;
+    private static final int DECEMBER_31 = 1231;
+    private static final Comparator<User> LIST_ORDER = Comparator
+            .comparing(User::getLastName, String.CASE_INSENSITIVE_ORDER)
+            .thenComparing(User::getDateOfBirth)
+            .thenComparing(User::getId);
+
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final UserSuggestIndex userSuggestIndex;
+    private final UserExistenceFilter userExistenceFilter;
+    private final UserDirectorySnapshot directorySnapshot;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Clock clock;
 
     public UserService(UserRepository userRepository,
-                       PasswordEncoder passwordEncoder) {
+                       PasswordEncoder passwordEncoder,
+                       UserSuggestIndex userSuggestIndex,
+                       UserExistenceFilter userExistenceFilter,
+                       UserDirectorySnapshot directorySnapshot,
+                       ApplicationEventPublisher eventPublisher,
+                       Clock clock) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.userSuggestIndex = userSuggestIndex;
+        this.userExistenceFilter = userExistenceFilter;
+        this.directorySnapshot = directorySnapshot;
+        this.eventPublisher = eventPublisher;
+        this.clock = clock;
     }
 
     public List<User> getAllUsers(String searchName) {
+        return getAllUsers(searchName, DateOfBirthRange.ANY);
+    }
+
+    public List<User> getAllUsers(String searchName, DateOfBirthRange range) {
 
         List<User> users;
 
         if (searchName != null && !searchName.trim().isEmpty()) {
             users = userRepository.searchUsers(searchName.trim());
+            if (range.isBounded()) {
+                users = users.stream().filter(user -> range.contains(user.getDateOfBirth())).toList();
+            }
+        } else if (range.isBounded()) {
+            users = userRepository.findAllByDateOfBirthBetweenOrderByLastNameAscDateOfBirthAsc(
+                    range.lowerBound(), range.upperBound());
         } else {
             users = userRepository.findAllByOrderByLastNameAscDateOfBirthAsc();
         }
@@ -48,10 +97,101 @@ public class UserService implements UserDetailsService {
         return users;
     }
 
+    public List<Map<String, Object>> getAllUserFields(String searchName, List<String> fields) {
+        return getAllUserFields(searchName, fields, DateOfBirthRange.ANY);
+    }
+
+    public List<Map<String, Object>> getAllUserFields(String searchName, List<String> fields, DateOfBirthRange range) {
+
+        String searchTerm = searchName != null && !searchName.trim().isEmpty() ? searchName.trim() : null;
+        List<Map<String, Object>> users = userRepository.findAllProjected(fields, searchTerm, range);
+
+        if (users.isEmpty()) {
+            throw new UserNotFoundException("No users found.");
+        }
+
+        return users;
+    }
+
+    public DateOfBirthRange toDateOfBirthRange(LocalDate bornFrom, LocalDate bornTo, Integer minAge, Integer maxAge) {
+
+        if ((minAge != null && minAge < 0) || (maxAge != null && maxAge < 0)) {
+            throw new InvalidFilterException("Age must not be negative.");
+        }
+
+        LocalDate today = LocalDate.now(clock);
+        DateOfBirthRange range = new DateOfBirthRange(bornFrom, bornTo);
+
+        // Aged maxAge until the day before turning maxAge + 1, aged minAge from the birthday on.
+        return range.intersect(
+                maxAge != null ? today.minusYears(maxAge + 1L).plusDays(1) : null,
+                minAge != null ? today.minusYears(minAge) : null);
+    }
+
+    // Birthdays from today through today + days, in calendar order. Windows crossing New Year are read
+    // as two index ranges, the rest of this year followed by the start of the next.
+    public List<User> getUpcomingBirthdays(int days) {
+
+        if (days < 0 || days > MAX_BIRTHDAY_WINDOW_DAYS) {
+            throw new InvalidFilterException("Days must be between 0 and %d.".formatted(MAX_BIRTHDAY_WINDOW_DAYS));
+        }
+
+        LocalDate today = LocalDate.now(clock);
+        LocalDate end = today.plusDays(days);
+        int from = User.toMonthDay(today);
+        int to = User.toMonthDay(end);
+
+        // Outside leap years February 29 birthdays are celebrated on the 28th.
+        if (to == FEBRUARY_28 && !end.isLeapYear()) {
+            to = FEBRUARY_29;
+        }
+
+        if (end.getYear() == today.getYear()) {
+            return userRepository.findAllByBirthMonthDayBetweenOrderByBirthMonthDayAscLastNameAsc(from, to);
+        }
+
+        List<User> users = new ArrayList<>(
+                userRepository.findAllByBirthMonthDayBetweenOrderByBirthMonthDayAscLastNameAsc(from, DECEMBER_31));
+        users.addAll(userRepository.findAllByBirthMonthDayBetweenOrderByBirthMonthDayAscLastNameAsc(JANUARY_1, to));
+
+        return users;
+    }
+
     public void updateUser(UUID UserId, UpdateRequest updateRequest) {
+        updateUser(UserId, updateRequest, null);
+    }
+
+    // Without an expected version the update is re-applied to the latest state when a concurrent
+    // update wins the version check. With one, a conflict means the client's precondition failed.
+    public void updateUser(UUID UserId, UpdateRequest updateRequest, Long expectedVersion) {
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                applyUpdate(UserId, updateRequest, expectedVersion);
+                return;
+            } catch (OptimisticLockingFailureException e) {
+                if (expectedVersion != null) {
+                    throw new PreconditionFailedException("User with id [%s] was modified concurrently."
+                            .formatted(UserId));
+                }
+                if (attempt >= MAX_UPDATE_ATTEMPTS) {
+                    throw e;
+                }
+                log.info("Retrying update of user [{}] after a concurrent modification.", UserId);
+            }
+        }
+    }
+
+    private void applyUpdate(UUID UserId, UpdateRequest updateRequest, Long expectedVersion) {
 
         User user = userRepository.findById(UserId).orElseThrow(
                 () -> new UserNotFoundException("User with id [%s] not found.".formatted(UserId)));
+        User previous = user.toBuilder().build();
+
+        if (expectedVersion != null && !expectedVersion.equals(user.getVersion())) {
+            throw new PreconditionFailedException("User with id [%s] does not match version [%s]."
+                    .formatted(UserId, expectedVersion));
+        }
 
         if (updateRequest.getFirstName() != null) {
             user.setFirstName(updateRequest.getFirstName().trim());
@@ -90,6 +230,7 @@ public class UserService implements UserDetailsService {
         }
 
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(UserChangedEvent.Type.UPDATED, user, previous));
         log.info("User [{}] updated successfully.", user.getEmail());
     }
 
@@ -98,12 +239,58 @@ public class UserService implements UserDetailsService {
         User user = userRepository.findById(UserId).orElseThrow(
                 () -> new UserNotFoundException("User with id [%s] not found.".formatted(UserId)));
 
-        userRepository.delete(user);
+        // Marked only, UserPurgeJob removes the row in the background.
+        userRepository.softDelete(user.getId(), LocalDateTime.now(clock));
+        eventPublisher.publishEvent(new UserChangedEvent(UserChangedEvent.Type.DELETED, user));
         log.info("User [{}] deleted successfully.", user.getEmail());
     }
 
     public void saveUser(User user) {
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(UserChangedEvent.Type.CREATED, user));
+    }
+
+    public List<UserSuggestIndex.Suggestion> suggestUsers(String query, int limit) {
+        return userSuggestIndex.suggest(query, Math.clamp(limit, 1, UserSuggestIndex.MAX_RESULTS));
+    }
+
+    // Phonetic keys find the candidates through an index, edit distance to the typed words ranks them.
+    public List<User> searchUsersFuzzy(String name, int limit) {
+
+        List<String> terms = UserSuggestIndex.tokenize(name);
+        Set<String> keys = new LinkedHashSet<>();
+        terms.forEach(term -> keys.addAll(PhoneticKeys.keys(term)));
+
+        if (keys.isEmpty()) {
+            return List.of();
+        }
+
+        Map<User, Integer> distances = new IdentityHashMap<>();
+        for (User candidate : userRepository.findAllByPhoneticKeys(keys, MAX_FUZZY_CANDIDATES_PER_COLUMN)) {
+            distances.put(candidate, distance(terms, candidate));
+        }
+
+        return distances.keySet().stream()
+                .sorted(Comparator.comparing((User user) -> distances.get(user)).thenComparing(LIST_ORDER))
+                .limit(Math.clamp(limit, 1, MAX_FUZZY_RESULTS))
+                .toList();
+    }
+
+    private static int distance(List<String> terms, User user) {
+
+        List<String> nameTokens = new ArrayList<>(UserSuggestIndex.tokenize(user.getFirstName()));
+        nameTokens.addAll(UserSuggestIndex.tokenize(user.getLastName()));
+
+        int total = 0;
+        for (String term : terms) {
+            int best = Integer.MAX_VALUE;
+            for (String token : nameTokens) {
+                best = Math.min(best, EditDistance.levenshtein(term, token));
+            }
+            total += best;
+        }
+
+        return total;
     }
 
     public User getUserByEmail(String email) {
@@ -112,17 +299,60 @@ public class UserService implements UserDetailsService {
                 () -> new UserNotFoundException("User with email [%s] not found.".formatted(email)));
     }
 
+    public Map<String, User> lookupUsersByEmail(List<String> emails) {
+
+        Map<String, User> usersByEmail = new HashMap<>();
+        for (List<String> chunk : chunks(emails)) {
+            userRepository.findAllByEmailIn(chunk)
+                    .forEach(user -> usersByEmail.put(user.getEmail().toLowerCase(Locale.ROOT), user));
+        }
+
+        Map<String, User> result = new LinkedHashMap<>();
+        emails.forEach(email -> result.put(email, usersByEmail.get(email.toLowerCase(Locale.ROOT))));
+
+        return result;
+    }
+
+    public Map<UUID, User> lookupUsersById(List<UUID> ids) {
+
+        Map<UUID, User> usersById = new HashMap<>();
+        for (List<UUID> chunk : chunks(ids)) {
+            userRepository.findAllById(chunk).forEach(user -> usersById.put(user.getId(), user));
+        }
+
+        Map<UUID, User> result = new LinkedHashMap<>();
+        ids.forEach(id -> result.put(id, usersById.get(id)));
+
+        return result;
+    }
+
+    public void upgradePasswordHash(UUID id, String email, String oldPassword, String newPassword) {
+
+        if (userRepository.updatePassword(id, oldPassword, newPassword) == 1) {
+            directorySnapshot.invalidate(email);
+            log.info("Password hash of user [{}] upgraded.", email);
+        }
+    }
+
     public boolean checkIfUserExists(String email) {
-        return userRepository.findByEmail(email).isPresent();
+        return userExistenceFilter.exists(UserExistenceFilter.Key.EMAIL, email,
+                value -> userRepository.countByEmailIncludingDeleted(value) > 0);
     }
 
     public boolean checkIfPhoneNumberExists(String phoneNumber) {
-        return userRepository.findByPhoneNumber(phoneNumber).isPresent();
+        return userExistenceFilter.exists(UserExistenceFilter.Key.PHONE_NUMBER, phoneNumber,
+                value -> userRepository.countByPhoneNumberIncludingDeleted(value) > 0);
     }
 
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
 
+        Optional<UserDirectorySnapshot.Entry> entry = directorySnapshot.find(email);
+        if (entry.isPresent()) {
+            return new org.springframework.security.core.userdetails.User(entry.get().email(),
+                    entry.get().password(), List.of(new SimpleGrantedAuthority("ROLE_" + entry.get().role().name())));
+        }
+
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new UserNotFoundException("User not found."));
 
@@ -132,4 +362,15 @@ public class UserService implements UserDetailsService {
         return new org.springframework.security.core.userdetails.User(
                 user.getEmail(), user.getPassword(), List.of(authority));
     }
+
+    private static <T> List<List<T>> chunks(List<T> keys) {
+
+        List<T> distinct = keys.stream().distinct().toList();
+        List<List<T>> chunks = new ArrayList<>();
+        for (int i = 0; i < distinct.size(); i += LOOKUP_CHUNK_SIZE) {
+            chunks.add(distinct.subList(i, Math.min(i + LOOKUP_CHUNK_SIZE, distinct.size())));
+        }
+
+        return chunks;
+    }
 }
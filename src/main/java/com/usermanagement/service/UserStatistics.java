@@ -0,0 +1,421 @@
+package com.usermanagement.service;
+
+import com.usermanagement.model.User;
+import com.usermanagement.model.UserRole;
+import com.usermanagement.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * User counts kept current from {@link UserChangedEvent}s, so reading them never touches the users table.
+ * Every node adds the changes it handled since its last save to the shared {@code user_statistics} rows and
+ * then reads them back, so the counters include the other nodes' changes as of their last save. A recount from
+ * the users table on a schedule corrects drift, e.g. from a node that stopped without saving.
+ */
+@Slf4j
+@Component
+public class UserStatistics {
+
+    static final int SIGNUP_DAYS = 30;
+    private static final int[] AGE_BUCKET_LOWER_BOUNDS = {0, 18, 25, 35, 45, 55, 65};
+
+    private static final String TOTAL = "total";
+    private static final String RECONCILED_AT = "reconciledAt";
+    private static final String ROLE_PREFIX = "role.";
+    private static final String SIGNUPS_PREFIX = "signups.";
+    private static final String BIRTH_YEAR_PREFIX = "birthYear.";
+
+    private static final String ADD_SQL = "INSERT INTO user_statistics (stat_key, stat_value, updated_at) "
+            + "VALUES (?, ?, ?) ON DUPLICATE KEY UPDATE stat_value = stat_value + VALUES(stat_value), "
+            + "updated_at = VALUES(updated_at)";
+
+    private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+
+    // Events take the read lock, swapping the counters takes the write lock, so no event is applied to a set
+    // of counters that is being replaced.
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ReentrantLock saveLock = new ReentrantLock();
+
+    private volatile Counters counters = new Counters();
+    // Changes not yet added to user_statistics.
+    private volatile Counters unsaved = new Counters();
+    // Changes seen while a recount is running, applied to its result. Guarded by lock.
+    private List<UserChangedEvent> changedDuringReconcile;
+    private volatile LocalDateTime reconciledAt;
+
+    public UserStatistics(UserRepository userRepository,
+                          JdbcTemplate jdbcTemplate,
+                          PlatformTransactionManager transactionManager,
+                          Clock clock) {
+        this.userRepository = userRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clock = clock;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+
+        lock.readLock().lock();
+        try {
+            counters.apply(event);
+            unsaved.apply(event);
+            if (changedDuringReconcile != null) {
+                synchronized (changedDuringReconcile) {
+                    changedDuringReconcile.add(event);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Snapshot snapshot() {
+
+        Counters current = counters;
+        LocalDate today = LocalDate.now(clock);
+
+        Map<UserRole, Long> byRole = new EnumMap<>(UserRole.class);
+        current.byRole.forEach((role, count) -> byRole.put(role, count.sum()));
+
+        SortedMap<LocalDate, Long> signupsPerDay = new TreeMap<>();
+        for (LocalDate day = today.minusDays(SIGNUP_DAYS - 1); !day.isAfter(today); day = day.plusDays(1)) {
+            LongAdder count = current.signups.get(day);
+            signupsPerDay.put(day, count != null ? count.sum() : 0L);
+        }
+
+        // Ages are the age reached this year, so a bucket is exact from each user's birthday on.
+        Map<String, Long> byAge = new LinkedHashMap<>();
+        for (int i = 0; i < AGE_BUCKET_LOWER_BOUNDS.length; i++) {
+            byAge.put(ageBucket(i), 0L);
+        }
+        current.birthYears.forEach((year, count) ->
+                byAge.merge(ageBucket(bucketOf(today.getYear() - year)), count.sum(), Long::sum));
+
+        return new Snapshot(current.total.sum(), byRole, signupsPerDay, byAge, reconciledAt);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+
+        if (!reload()) {
+            reconcile();
+            return;
+        }
+
+        log.info("Loaded user statistics, [{}] users.", counters.total.sum());
+    }
+
+    /**
+     * Adds the changes handled since the last save to the shared rows and reads back the totals of all nodes.
+     * Changes are added as deltas, so nodes saving concurrently do not overwrite each other.
+     */
+    @Scheduled(fixedDelayString = "${app.stats.persist-interval:PT1M}",
+            initialDelayString = "${app.stats.persist-interval:PT1M}")
+    public void persist() {
+        if (save()) {
+            reload();
+        }
+    }
+
+    @PreDestroy
+    void persistOnShutdown() {
+        save();
+    }
+
+    @Scheduled(cron = "${app.stats.reconcile-cron:0 30 3 * * *}")
+    public void reconcile() {
+
+        saveLock.lock();
+        try {
+            recount();
+        } finally {
+            saveLock.unlock();
+        }
+    }
+
+    // Counts users in the table and replaces the shared rows. Changes another node has not saved yet may already
+    // be in the count and are added once more when it saves, so up to one save interval of them can drift.
+    private void recount() {
+
+        lock.writeLock().lock();
+        try {
+            changedDuringReconcile = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        LocalDate since = LocalDate.now(clock).minusDays(SIGNUP_DAYS - 1);
+        Counters fresh = new Counters();
+        try {
+            for (Object[] row : userRepository.countByRole()) {
+                long count = (Long) row[1];
+                fresh.byRole.get((UserRole) row[0]).add(count);
+                fresh.total.add(count);
+            }
+            for (Object[] row : userRepository.countSignupsPerDaySince(since.atStartOfDay())) {
+                fresh.signupsOn((LocalDate) row[0]).add((Long) row[1]);
+            }
+            for (Object[] row : userRepository.countByBirthYear()) {
+                fresh.bornIn((Integer) row[0]).add((Long) row[1]);
+            }
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                changedDuringReconcile = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        // Changes committed while counting may or may not be in the count, applying them keeps deletes and
+        // signups from being lost at the cost of counting a few twice until the next recount.
+        Counters previousUnsaved;
+        long drift;
+        LocalDateTime now = LocalDateTime.now(clock);
+        lock.writeLock().lock();
+        try {
+            changedDuringReconcile.forEach(fresh::apply);
+            changedDuringReconcile = null;
+            drift = counters.total.sum() - fresh.total.sum();
+            previousUnsaved = unsaved;
+            counters = fresh;
+            unsaved = new Counters();
+            reconciledAt = now;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Map<String, Long> values = fresh.values();
+        values.put(RECONCILED_AT, now.toEpochSecond(ZoneOffset.UTC));
+        Timestamp updatedAt = Timestamp.valueOf(now);
+        List<Object[]> rows = values.entrySet().stream()
+                .map(entry -> new Object[]{entry.getKey(), entry.getValue(), updatedAt})
+                .toList();
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.update("DELETE FROM user_statistics");
+                jdbcTemplate.batchUpdate(
+                        "INSERT INTO user_statistics (stat_key, stat_value, updated_at) VALUES (?, ?, ?)", rows);
+            });
+        } catch (DataAccessException | TransactionException e) {
+            // The rows still hold the previous totals, the changes they are missing are saved next time.
+            keepUnsaved(previousUnsaved);
+            throw e;
+        }
+
+        log.info("Reconciled user statistics, [{}] users, drift [{}].", fresh.total.sum(), drift);
+    }
+
+    private boolean save() {
+
+        saveLock.lock();
+        try {
+            Counters delta;
+            lock.writeLock().lock();
+            try {
+                delta = unsaved;
+                unsaved = new Counters();
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            LocalDate cutoff = LocalDate.now(clock).minusDays(SIGNUP_DAYS - 1);
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now(clock));
+            List<Object[]> rows = delta.values().entrySet().stream()
+                    .filter(entry -> entry.getValue() != 0)
+                    .map(entry -> new Object[]{entry.getKey(), entry.getValue(), now})
+                    .toList();
+
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    if (!rows.isEmpty()) {
+                        jdbcTemplate.batchUpdate(ADD_SQL, rows);
+                    }
+                    // ISO dates sort like the days they name.
+                    jdbcTemplate.update("DELETE FROM user_statistics WHERE stat_key LIKE ? AND stat_key < ?",
+                            SIGNUPS_PREFIX + "%", SIGNUPS_PREFIX + cutoff);
+                });
+            } catch (DataAccessException | TransactionException e) {
+                // Nothing was written, keep the changes for the next save.
+                keepUnsaved(delta);
+                log.warn("Failed to save [{}] user statistics changes, keeping them for the next save.",
+                        rows.size(), e);
+                return false;
+            }
+
+            return true;
+        } finally {
+            saveLock.unlock();
+        }
+    }
+
+    private void keepUnsaved(Counters changes) {
+        lock.readLock().lock();
+        try {
+            unsaved.addAll(changes);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Replaces the counters with the shared rows plus the changes not saved yet, false if there are no rows.
+    private boolean reload() {
+
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList("SELECT stat_key, stat_value FROM user_statistics");
+        if (rows.isEmpty()) {
+            return false;
+        }
+
+        Counters loaded = new Counters();
+        LocalDateTime loadedReconciledAt = null;
+        for (Map<String, Object> row : rows) {
+            String key = (String) row.get("stat_key");
+            long value = ((Number) row.get("stat_value")).longValue();
+
+            if (key.equals(RECONCILED_AT)) {
+                loadedReconciledAt = LocalDateTime.ofEpochSecond(value, 0, ZoneOffset.UTC);
+            } else {
+                loaded.add(key, value);
+            }
+        }
+
+        lock.writeLock().lock();
+        try {
+            loaded.addAll(unsaved);
+            counters = loaded;
+            reconciledAt = loadedReconciledAt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        return true;
+    }
+
+    private static int bucketOf(int age) {
+
+        int bucket = 0;
+        while (bucket + 1 < AGE_BUCKET_LOWER_BOUNDS.length && age >= AGE_BUCKET_LOWER_BOUNDS[bucket + 1]) {
+            bucket++;
+        }
+
+        return bucket;
+    }
+
+    private static String ageBucket(int bucket) {
+
+        int lower = AGE_BUCKET_LOWER_BOUNDS[bucket];
+        return bucket + 1 < AGE_BUCKET_LOWER_BOUNDS.length
+                ? lower + "-" + (AGE_BUCKET_LOWER_BOUNDS[bucket + 1] - 1)
+                : lower + "+";
+    }
+
+    public record Snapshot(long totalUsers,
+                           Map<UserRole, Long> usersByRole,
+                           SortedMap<LocalDate, Long> signupsPerDay,
+                           Map<String, Long> usersByAge,
+                           LocalDateTime reconciledAt) {
+    }
+
+    private static final class Counters {
+
+        private final LongAdder total = new LongAdder();
+        private final Map<UserRole, LongAdder> byRole = new EnumMap<>(UserRole.class);
+        private final ConcurrentMap<LocalDate, LongAdder> signups = new ConcurrentHashMap<>();
+        private final ConcurrentMap<Integer, LongAdder> birthYears = new ConcurrentHashMap<>();
+
+        private Counters() {
+            for (UserRole role : UserRole.values()) {
+                byRole.put(role, new LongAdder());
+            }
+        }
+
+        private void apply(UserChangedEvent event) {
+            switch (event.type()) {
+                case CREATED -> add(event.user(), 1);
+                case DELETED -> add(event.user(), -1);
+                case UPDATED -> {
+                    if (event.previous() != null) {
+                        add(event.previous(), -1);
+                        add(event.user(), 1);
+                    }
+                }
+            }
+        }
+
+        private void add(User user, int delta) {
+
+            total.add(delta);
+            if (user.getRole() != null) {
+                byRole.get(user.getRole()).add(delta);
+            }
+            if (user.getCreatedAt() != null) {
+                signupsOn(user.getCreatedAt().toLocalDate()).add(delta);
+            }
+            if (user.getDateOfBirth() != null) {
+                bornIn(user.getDateOfBirth().getYear()).add(delta);
+            }
+        }
+
+        private void add(String key, long value) {
+            if (key.equals(TOTAL)) {
+                total.add(value);
+            } else if (key.startsWith(ROLE_PREFIX)) {
+                byRole.get(UserRole.valueOf(key.substring(ROLE_PREFIX.length()))).add(value);
+            } else if (key.startsWith(SIGNUPS_PREFIX)) {
+                signupsOn(LocalDate.parse(key.substring(SIGNUPS_PREFIX.length()))).add(value);
+            } else if (key.startsWith(BIRTH_YEAR_PREFIX)) {
+                bornIn(Integer.parseInt(key.substring(BIRTH_YEAR_PREFIX.length()))).add(value);
+            }
+        }
+
+        private void addAll(Counters other) {
+            other.values().forEach(this::add);
+        }
+
+        private Map<String, Long> values() {
+            Map<String, Long> values = new LinkedHashMap<>();
+            values.put(TOTAL, total.sum());
+            byRole.forEach((role, count) -> values.put(ROLE_PREFIX + role.name(), count.sum()));
+            signups.forEach((day, count) -> values.put(SIGNUPS_PREFIX + day, count.sum()));
+            birthYears.forEach((year, count) -> values.put(BIRTH_YEAR_PREFIX + year, count.sum()));
+            return values;
+        }
+
+        private LongAdder signupsOn(LocalDate day) {
+            return signups.computeIfAbsent(day, key -> new LongAdder());
+        }
+
+        private LongAdder bornIn(int year) {
+            return birthYears.computeIfAbsent(year, key -> new LongAdder());
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package com.usermanagement.service;
+
+import com.usermanagement.model.User;
+import com.usermanagement.repository.UserNameView;
+import com.usermanagement.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.text.Normalizer;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Prefix index over first and last name tokens for autocomplete. Keys are {@code token + '\0' + id} in a
+ * sorted map, so all users with a token starting with a prefix form one contiguous range. Short prefixes span
+ * most of the index, so their first results are kept per prefix and dropped when a matching name changes.
+ * The index follows changes made on this node and is reloaded periodically to pick up those of other nodes.
+ */
+@Slf4j
+@Component
+public class UserSuggestIndex {
+
+    private static final Comparator<Suggestion> LIST_ORDER = Comparator
+            .comparing(Suggestion::lastName, String.CASE_INSENSITIVE_ORDER)
+            .thenComparing(Suggestion::dateOfBirth)
+            .thenComparing(Suggestion::id);
+
+    static final int MAX_RESULTS = 50;
+    private static final int HEAD_PREFIX_LENGTH = 3;
+    private static final char KEY_SEPARATOR = '\0';
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    private final NavigableMap<String, Entry> tokens = new ConcurrentSkipListMap<>();
+    private final Map<UUID, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<String, List<Suggestion>> heads = new ConcurrentHashMap<>();
+    private final ReentrantLock loadLock = new ReentrantLock();
+    private final UserRepository userRepository;
+
+    // Changes seen while a load is running, replayed over the rows it read. Guarded by this.
+    private List<UserChangedEvent> changedDuringLoad;
+
+    public UserSuggestIndex(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${app.suggest.rebuild-cron:0 20 * * * *}")
+    @Transactional(readOnly = true)
+    public void load() {
+
+        loadLock.lock();
+        try {
+            long start = System.nanoTime();
+            AtomicInteger count = new AtomicInteger();
+            Set<UUID> loaded = new HashSet<>();
+            boolean complete = false;
+
+            synchronized (this) {
+                changedDuringLoad = new ArrayList<>();
+            }
+
+            try (Stream<UserNameView> users = userRepository.streamAllBy()) {
+                users.forEach(user -> {
+                    put(user.getId(), user.getFirstName(), user.getLastName(), user.getDateOfBirth());
+                    loaded.add(user.getId());
+                    count.incrementAndGet();
+                });
+                complete = true;
+            } finally {
+                finishLoad(complete ? loaded : null);
+            }
+
+            log.info("Indexed [{}] users for suggestions in [{}] ms.",
+                    count.get(), (System.nanoTime() - start) / 1_000_000);
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onUserChanged(UserChangedEvent event) {
+
+        if (changedDuringLoad != null) {
+            changedDuringLoad.add(event);
+        }
+        apply(event);
+    }
+
+    // Drops users deleted elsewhere, then replays local changes so a row read before one does not undo it.
+    // Loaded is null when the load failed, nothing is dropped then.
+    private synchronized void finishLoad(Set<UUID> loaded) {
+
+        if (loaded != null) {
+            entries.keySet().stream()
+                    .filter(id -> !loaded.contains(id))
+                    .toList()
+                    .forEach(this::remove);
+        }
+        changedDuringLoad.forEach(this::apply);
+        changedDuringLoad = null;
+    }
+
+    private void apply(UserChangedEvent event) {
+
+        User user = event.user();
+        if (event.type() == UserChangedEvent.Type.DELETED) {
+            remove(user.getId());
+        } else {
+            put(user.getId(), user.getFirstName(), user.getLastName(), user.getDateOfBirth());
+        }
+    }
+
+    public List<Suggestion> suggest(String query, int limit) {
+
+        List<String> terms = tokenize(query);
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        if (terms.size() == 1 && terms.getFirst().length() <= HEAD_PREFIX_LENGTH && limit <= MAX_RESULTS) {
+            List<Suggestion> head = heads.get(terms.getFirst());
+            if (head == null) {
+                head = computeHead(terms.getFirst());
+            }
+            return head.subList(0, Math.min(limit, head.size()));
+        }
+
+        return scan(terms, limit);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private synchronized List<Suggestion> computeHead(String prefix) {
+        return heads.computeIfAbsent(prefix, key -> List.copyOf(scan(List.of(key), MAX_RESULTS)));
+    }
+
+    private List<Suggestion> scan(List<String> terms, int limit) {
+
+        // The longest term selects the narrowest range, the others filter it.
+        String prefix = terms.stream().max(Comparator.comparingInt(String::length)).orElseThrow();
+
+        PriorityQueue<Suggestion> top = new PriorityQueue<>(limit + 1, LIST_ORDER.reversed());
+        for (Entry entry : tokens.subMap(prefix, true, prefix + Character.MAX_VALUE, true).values()) {
+            Suggestion suggestion = entry.suggestion();
+            if (top.size() == limit && LIST_ORDER.compare(suggestion, top.peek()) >= 0) {
+                continue;
+            }
+            // A user with two tokens under the prefix is met twice, top holds at most limit entries.
+            if ((terms.size() > 1 && !entry.matchesAll(terms)) || top.contains(suggestion)) {
+                continue;
+            }
+            top.add(suggestion);
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+
+        List<Suggestion> result = new ArrayList<>(top);
+        result.sort(LIST_ORDER);
+
+        return result;
+    }
+
+    synchronized void put(UUID id, String firstName, String lastName, LocalDate dateOfBirth) {
+
+        remove(id);
+
+        List<String> nameTokens = Stream.concat(tokenize(firstName).stream(), tokenize(lastName).stream())
+                .distinct()
+                .toList();
+        Entry entry = new Entry(new Suggestion(id, firstName, lastName, dateOfBirth), nameTokens);
+
+        entries.put(id, entry);
+        nameTokens.forEach(token -> {
+            tokens.put(key(token, id), entry);
+            invalidateHeads(token);
+        });
+    }
+
+    synchronized void remove(UUID id) {
+
+        Entry entry = entries.remove(id);
+        if (entry != null) {
+            entry.tokens().forEach(token -> {
+                tokens.remove(key(token, id));
+                invalidateHeads(token);
+            });
+        }
+    }
+
+    private void invalidateHeads(String token) {
+        for (int length = 1; length <= Math.min(HEAD_PREFIX_LENGTH, token.length()); length++) {
+            heads.remove(token.substring(0, length));
+        }
+    }
+
+    static List<String> tokenize(String value) {
+
+        if (value == null || value.isBlank()) {
+            return List.of();
+        }
+
+        String normalized = COMBINING_MARKS.matcher(Normalizer.normalize(value, Normalizer.Form.NFD))
+                .replaceAll("")
+                .toLowerCase(Locale.ROOT);
+
+        return Arrays.stream(TOKEN_SEPARATOR.split(normalized))
+                .filter(token -> !token.isEmpty())
+                .toList();
+    }
+
+    private static String key(String token, UUID id) {
+        return token + KEY_SEPARATOR + id;
+    }
+
+    public record Suggestion(UUID id, String firstName, String lastName, LocalDate dateOfBirth) {
+    }
+
+    private record Entry(Suggestion suggestion, List<String> tokens) {
+
+        private boolean matchesAll(List<String> terms) {
+            for (String term : terms) {
+                if (!matches(term)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean matches(String term) {
+            for (String token : tokens) {
+                if (token.startsWith(term)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
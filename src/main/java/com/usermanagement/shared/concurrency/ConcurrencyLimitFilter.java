@@ -0,0 +1,134 @@
+package com.usermanagement.shared.concurrency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.usermanagement.web.dto.ErrorResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Refuses API requests with 503 once a route group has as many requests in flight as its {@link GradientLimiter}
+ * currently allows. Runs ahead of the security filter chain, so a refused request costs no token verification
+ * or database work, and each group learns its own limit so slow logins cannot starve reads.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    public enum RouteGroup {
+        AUTH,
+        READ,
+        WRITE
+    }
+
+    private static final String USERS_PATH = "/api/v1/users";
+
+    private final Map<RouteGroup, GradientLimiter> limiters = new EnumMap<>(RouteGroup.class);
+    private final Map<RouteGroup, Counter> rejected = new EnumMap<>(RouteGroup.class);
+    private final ConcurrencyLimitProperties properties;
+    private final ObjectMapper objectMapper;
+
+    public ConcurrencyLimitFilter(ConcurrencyLimitProperties properties,
+                                  ObjectMapper objectMapper,
+                                  MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+
+        for (RouteGroup group : RouteGroup.values()) {
+            GradientLimiter limiter = new GradientLimiter(properties);
+            String tag = group.name().toLowerCase(Locale.ROOT);
+            limiters.put(group, limiter);
+
+            rejected.put(group, Counter.builder("http.concurrency.rejected")
+                    .description("Requests refused because the route group was at its limit")
+                    .tag("group", tag)
+                    .register(meterRegistry));
+            Gauge.builder("http.concurrency.limit", limiter, GradientLimiter::getLimit)
+                    .description("Requests the route group currently lets run at once")
+                    .tag("group", tag)
+                    .register(meterRegistry);
+            Gauge.builder("http.concurrency.in.flight", limiter, GradientLimiter::getInFlight)
+                    .description("Requests of the route group currently running")
+                    .tag("group", tag)
+                    .register(meterRegistry);
+        }
+    }
+
+    static RouteGroup routeGroup(String method, String path) {
+
+        if (path.equals("/api/v1/login") || path.equals("/api/v1/register")) {
+            return "POST".equals(method) ? RouteGroup.AUTH : null;
+        }
+        if (!path.equals(USERS_PATH) && !path.startsWith(USERS_PATH + "/")) {
+            return null;
+        }
+
+        return switch (method) {
+            case "GET", "HEAD" -> RouteGroup.READ;
+            case "POST" -> path.equals(USERS_PATH + "/lookup") ? RouteGroup.READ : RouteGroup.WRITE;
+            case "PUT", "PATCH", "DELETE" -> RouteGroup.WRITE;
+            default -> null;
+        };
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !properties.isEnabled() || routeGroup(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain)
+            throws ServletException, IOException {
+
+        RouteGroup group = routeGroup(request);
+        GradientLimiter limiter = limiters.get(group);
+
+        if (!limiter.tryAcquire()) {
+            rejected.get(group).increment();
+            log.debug("Refused [{} {}], [{}] requests are at their limit of [{}].",
+                    request.getMethod(), request.getRequestURI(), group, limiter.getLimit());
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(), new ErrorResponse(
+                    HttpStatus.SERVICE_UNAVAILABLE.value(), "The service is busy, please retry shortly."));
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            limiter.release(System.nanoTime() - start);
+        }
+    }
+
+    GradientLimiter limiter(RouteGroup group) {
+        return limiters.get(group);
+    }
+
+    private static RouteGroup routeGroup(HttpServletRequest request) {
+        return routeGroup(request.getMethod(), request.getRequestURI().substring(request.getContextPath().length()));
+    }
+}
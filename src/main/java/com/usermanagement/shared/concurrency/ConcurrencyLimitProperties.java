@@ -0,0 +1,28 @@
+package com.usermanagement.shared.concurrency;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.concurrency-limit")
+public class ConcurrencyLimitProperties {
+
+    private boolean enabled = true;
+
+    // In-flight requests each route group starts with, and the bounds it learns between.
+    private int initialLimit = 20;
+    private int minLimit = 4;
+    private int maxLimit = 400;
+
+    // Latency may rise this much over its long term average before the limit shrinks.
+    private double tolerance = 1.5;
+
+    // Share of each new estimate taken into the limit, lower values react slower but steadier.
+    private double smoothing = 0.2;
+
+    // Samples averaged for the recent latency and for the long term baseline it is compared with.
+    private int shortWindow = 10;
+    private int longWindow = 600;
+}
@@ -0,0 +1,95 @@
+package com.usermanagement.shared.concurrency;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-flight limit learned from latency with the gradient algorithm. Every completed request compares recent
+ * latency with its long term average: while they match the limit grows by a queue allowance of
+ * {@code sqrt(limit)}, and once recent latency rises past {@code tolerance} times the average the limit is
+ * scaled down by the ratio, at most halving per sample. Requests beyond the limit are refused, not queued.
+ */
+public class GradientLimiter {
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double smoothing;
+    private final double shortAlpha;
+    private final double longAlpha;
+    private final int longWindow;
+
+    private volatile int limit;
+
+    // Guarded by this.
+    private double estimatedLimit;
+    private double shortRtt;
+    private double longRtt;
+    private long samples;
+
+    public GradientLimiter(ConcurrencyLimitProperties properties) {
+        this.minLimit = properties.getMinLimit();
+        this.maxLimit = properties.getMaxLimit();
+        this.tolerance = properties.getTolerance();
+        this.smoothing = properties.getSmoothing();
+        this.shortAlpha = 2.0 / (properties.getShortWindow() + 1);
+        this.longAlpha = 2.0 / (properties.getLongWindow() + 1);
+        this.longWindow = properties.getLongWindow();
+        this.estimatedLimit = Math.clamp(properties.getInitialLimit(), minLimit, maxLimit);
+        this.limit = (int) estimatedLimit;
+    }
+
+    public boolean tryAcquire() {
+
+        if (inFlight.incrementAndGet() > limit) {
+            inFlight.decrementAndGet();
+            return false;
+        }
+
+        return true;
+    }
+
+    // Called once for every acquired request with its latency, also when it failed.
+    public void release(long rttNanos) {
+        onSample(rttNanos, inFlight.getAndDecrement());
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    synchronized void onSample(long rttNanos, int inFlightAtCompletion) {
+
+        samples++;
+        if (samples == 1) {
+            shortRtt = rttNanos;
+            longRtt = rttNanos;
+            return;
+        }
+
+        shortRtt += shortAlpha * (rttNanos - shortRtt);
+        // Plain average until the window is full, so the baseline is not dominated by the first requests.
+        longRtt += (samples < longWindow ? 1.0 / samples : longAlpha) * (rttNanos - longRtt);
+
+        // After a long slowdown the baseline has crept up, pull it back once latency has recovered.
+        if (longRtt / shortRtt > 2) {
+            longRtt *= 0.95;
+        }
+
+        // Mostly idle, latency says nothing about whether a higher limit would hold.
+        if (inFlightAtCompletion < estimatedLimit / 2) {
+            return;
+        }
+
+        double gradient = Math.clamp(tolerance * longRtt / shortRtt, 0.5, 1.0);
+        double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        newLimit = estimatedLimit * (1 - smoothing) + newLimit * smoothing;
+
+        estimatedLimit = Math.clamp(newLimit, minLimit, maxLimit);
+        limit = (int) estimatedLimit;
+    }
+}
@@ -0,0 +1,22 @@
+package com.usermanagement.shared.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.directory-snapshot")
+public class DirectorySnapshotProperties {
+
+    private boolean enabled = true;
+
+    private String file = "data/auth-directory.snapshot";
+
+    private Duration writeInterval = Duration.ofMinutes(5);
+
+    // Longest time snapshot entries are served after they were last checked against the database.
+    private Duration maxStaleness = Duration.ofMinutes(10);
+}
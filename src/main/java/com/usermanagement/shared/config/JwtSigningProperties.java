@@ -0,0 +1,34 @@
+package com.usermanagement.shared.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "token.signing")
+public class JwtSigningProperties {
+
+    private String activeKeyId;
+
+    private List<Key> keys = new ArrayList<>();
+
+    private Duration jwksMaxAge = Duration.ofMinutes(15);
+
+    @Getter
+    @Setter
+    public static class Key {
+
+        private String id;
+
+        // Base64 encoded PKCS#8 EC private key. Retired keys only keep the public part.
+        private String privateKey;
+
+        // Base64 encoded X.509 EC public key.
+        private String publicKey;
+    }
+}
@@ -0,0 +1,20 @@
+package com.usermanagement.shared.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.last-login")
+public class LastLoginProperties {
+
+    private Duration flushInterval = Duration.ofSeconds(10);
+
+    // Users with buffered logins that trigger a flush before the interval has passed.
+    private int flushThreshold = 5_000;
+
+    private int batchSize = 500;
+}
@@ -0,0 +1,64 @@
+package com.usermanagement.shared.config;
+
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.usermanagement.web.converter.InfoResponseJsonHttpMessageConverter;
+import com.usermanagement.web.converter.InfoResponseProtobufHttpMessageConverter;
+import com.usermanagement.web.converter.ObservedMappingJackson2HttpMessageConverter;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+public class MessageConverterConfig implements WebMvcConfigurer {
+
+    private final ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilders;
+    private final ObjectProvider<ObservationRegistry> observationRegistry;
+
+    public MessageConverterConfig(ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilders,
+                                  ObjectProvider<ObservationRegistry> observationRegistry) {
+        this.objectMapperBuilders = objectMapperBuilders;
+        this.observationRegistry = observationRegistry;
+    }
+
+    // Appended after JSON, so JSON stays the default when the Accept header allows anything.
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+
+        converters.removeIf(converter -> converter instanceof MappingJackson2CborHttpMessageConverter
+                || converter instanceof MappingJackson2SmileHttpMessageConverter);
+
+        ObservationRegistry registry = observationRegistry.getIfAvailable(() -> ObservationRegistry.NOOP);
+        converters.replaceAll(converter -> converter.getClass() == MappingJackson2HttpMessageConverter.class
+                ? new ObservedMappingJackson2HttpMessageConverter(
+                        ((MappingJackson2HttpMessageConverter) converter).getObjectMapper(), registry)
+                : converter);
+
+        // Ahead of Jackson, so user listings and errors skip bean introspection, everything else falls through.
+        int jsonIndex = converters.indexOf(converters.stream()
+                .filter(MappingJackson2HttpMessageConverter.class::isInstance)
+                .findFirst()
+                .orElseThrow());
+        converters.add(jsonIndex, new InfoResponseJsonHttpMessageConverter(registry));
+
+        // Binary formats write dates as numbers instead of ISO strings.
+        converters.add(new MappingJackson2CborHttpMessageConverter(objectMapperBuilders.getObject()
+                .factory(new CBORFactory())
+                .featuresToEnable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build()));
+        converters.add(new MappingJackson2SmileHttpMessageConverter(objectMapperBuilders.getObject()
+                .factory(new SmileFactory())
+                .featuresToEnable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build()));
+        converters.add(new InfoResponseProtobufHttpMessageConverter());
+    }
+}
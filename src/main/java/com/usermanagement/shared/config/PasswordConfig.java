@@ -1,15 +1,51 @@
 package com.usermanagement.shared.config;
 
+import com.usermanagement.shared.security.ObservedPasswordEncoder;
+import com.usermanagement.shared.security.PasswordHashCalibration;
+import io.micrometer.observation.ObservationRegistry;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+import java.util.Map;
 
 @Configuration
 public class PasswordConfig {
 
+    private static final String BCRYPT = "bcrypt";
+    private static final String ARGON2 = "argon2";
+    private static final String PBKDF2 = "pbkdf2";
+
+    /**
+     * Hashes are prefixed with their algorithm id, hashes without one predate the prefix and are BCrypt.
+     * PBKDF2 hashes do not record their iteration count, so PBKDF2 keeps Spring Security's fixed defaults
+     * and only the selected BCrypt or Argon2 encoder is calibrated.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(PasswordHashingProperties properties,
+                                           ObservationRegistry observationRegistry) {
+
+        String algorithm = properties.getAlgorithm();
+        PasswordEncoder bcrypt = BCRYPT.equals(algorithm)
+                ? PasswordHashCalibration.bcrypt(properties.getTargetLatency())
+                : new BCryptPasswordEncoder();
+        PasswordEncoder argon2 = ARGON2.equals(algorithm)
+                ? PasswordHashCalibration.argon2(properties.getTargetLatency())
+                : Argon2PasswordEncoder.defaultsForSpringSecurity_v5_8();
+        PasswordEncoder pbkdf2 = Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8();
+
+        Map<String, PasswordEncoder> encoders = Map.of(BCRYPT, bcrypt, ARGON2, argon2, PBKDF2, pbkdf2);
+        if (!encoders.containsKey(algorithm)) {
+            throw new IllegalStateException("Unsupported password hashing algorithm [%s].".formatted(algorithm));
+        }
+
+        DelegatingPasswordEncoder passwordEncoder = new DelegatingPasswordEncoder(algorithm, encoders);
+        passwordEncoder.setDefaultPasswordEncoderForMatches(bcrypt);
+
+        return new ObservedPasswordEncoder(passwordEncoder, observationRegistry);
     }
 }
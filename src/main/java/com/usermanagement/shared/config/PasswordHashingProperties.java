@@ -0,0 +1,19 @@
+package com.usermanagement.shared.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.password-hashing")
+public class PasswordHashingProperties {
+
+    // Algorithm of new hashes, one of bcrypt, argon2 or pbkdf2. Hashes of the others are still verified.
+    private String algorithm = "bcrypt";
+
+    // Work factors are raised at startup until hashing one password takes about this long.
+    private Duration targetLatency = Duration.ofMillis(250);
+}
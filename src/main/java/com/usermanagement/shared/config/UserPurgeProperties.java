@@ -0,0 +1,21 @@
+package com.usermanagement.shared.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.purge")
+public class UserPurgeProperties {
+
+    // Soft deleted users are kept at least this long before the row is removed.
+    private Duration retention = Duration.ZERO;
+
+    private int chunkSize = 500;
+
+    // Pause between chunks, keeps a large purge from saturating the primary.
+    private Duration pause = Duration.ofMillis(100);
+}
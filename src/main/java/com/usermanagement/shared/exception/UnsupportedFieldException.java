@@ -0,0 +1,7 @@
+package com.usermanagement.shared.exception;
+
+public class UnsupportedFieldException extends RuntimeException {
+    public UnsupportedFieldException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,266 @@
+package com.usermanagement.shared.generator;
+
+import com.google.i18n.phonenumbers.NumberParseException;
+import com.google.i18n.phonenumbers.PhoneNumberUtil;
+import com.google.i18n.phonenumbers.Phonenumber;
+import com.usermanagement.model.User;
+import com.usermanagement.model.UserRole;
+import com.usermanagement.shared.utils.PhoneticKeys;
+import com.usermanagement.shared.utils.UuidV7Generator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.sql.Timestamp;
+import java.time.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fills the users table with synthetic users and exits, run with the {@code generate-data} profile.
+ * <p>
+ * Batch {@code n} is generated from a random seeded with the configured seed and {@code n}, so the output
+ * does not depend on how batches are spread over producer threads. Every user shares one password hash and
+ * each batch is written as a single multi-row insert.
+ */
+@Slf4j
+@Component
+@Profile("generate-data")
+public class SyntheticUserGenerator implements ApplicationRunner {
+
+    private static final String[] FIRST_NAMES = {
+            "Aleksandar", "Anna", "Boris", "Daniela", "Dimitar", "Elena", "Emil", "Gabriela", "Georgi", "Hristina",
+            "Ivan", "Ivana", "Kalina", "Kamen", "Kristina", "Lyubomir", "Maria", "Martin", "Mihaela", "Nikolay",
+            "Nadezhda", "Petar", "Petya", "Radoslav", "Rositsa", "Simeon", "Silvia", "Stefan", "Teodora", "Todor",
+            "Valentin", "Vanya", "Viktor", "Yoana", "Yordan", "Zdravko", "Zornitsa", "Anton", "Desislava", "Plamen"};
+
+    private static final String[] LAST_NAMES = {
+            "Angelov", "Atanasov", "Bogdanov", "Borisov", "Dimitrov", "Georgiev", "Hristov", "Iliev", "Ivanov",
+            "Kolev", "Konstantinov", "Kostov", "Marinov", "Mihaylov", "Nikolov", "Pavlov", "Petkov", "Petrov",
+            "Popov", "Radev", "Simeonov", "Stefanov", "Stoyanov", "Todorov", "Vasilev", "Yordanov", "Zhelev",
+            "Aleksandrov", "Genchev", "Kirilov", "Lazarov", "Mladenov", "Nedelchev", "Penev", "Rusev", "Slavov"};
+
+    private static final String COLUMNS = "id, first_name, last_name, date_of_birth, phone_number, email, role, "
+            + "password, created_at, version, first_name_phonetic, first_name_phonetic_alt, last_name_phonetic, "
+            + "last_name_phonetic_alt, birth_month_day";
+    private static final int COLUMN_COUNT = 15;
+
+    private static final LocalDate BORN_FROM = LocalDate.of(1945, 1, 1);
+    private static final LocalDate BORN_TO = LocalDate.of(2007, 12, 31);
+    private static final LocalDateTime CREATED_FROM = LocalDateTime.of(2020, 1, 1, 0, 0);
+    private static final Duration CREATED_SPAN = Duration.ofDays(5 * 365);
+    private static final int PROGRESS_EVERY_BATCHES = 100;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final SyntheticUserProperties properties;
+    private final ApplicationContext applicationContext;
+
+    public SyntheticUserGenerator(JdbcTemplate jdbcTemplate,
+                                  PasswordEncoder passwordEncoder,
+                                  SyntheticUserProperties properties,
+                                  ApplicationContext applicationContext) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.passwordEncoder = passwordEncoder;
+        this.properties = properties;
+        this.applicationContext = applicationContext;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        generate();
+        System.exit(SpringApplication.exit(applicationContext, () -> 0));
+    }
+
+    public void generate() throws InterruptedException, ExecutionException {
+
+        long users = properties.getUsers();
+        int batchSize = properties.getBatchSize();
+        long batches = (users + batchSize - 1) / batchSize;
+
+        String passwordHash = passwordEncoder.encode(properties.getPassword());
+        PhoneNumberPlan phoneNumbers = PhoneNumberPlan.forRegion(properties.getRegion(), users);
+
+        log.info("Generating [{}] users in [{}] batches on [{}] producers, seed [{}].",
+                users, batches, properties.getProducers(), properties.getSeed());
+
+        long start = System.nanoTime();
+        AtomicLong nextBatch = new AtomicLong();
+        AtomicLong written = new AtomicLong();
+
+        ExecutorService producers = Executors.newFixedThreadPool(properties.getProducers());
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int i = 0; i < properties.getProducers(); i++) {
+                results.add(producers.submit(() -> {
+                    for (long batch = nextBatch.getAndIncrement(); batch < batches; batch = nextBatch.getAndIncrement()) {
+                        List<User> rows = batch(batch, passwordHash, phoneNumbers);
+                        insert(rows);
+
+                        long total = written.addAndGet(rows.size());
+                        if ((batch + 1) % PROGRESS_EVERY_BATCHES == 0) {
+                            log.info("Generated [{}] of [{}] users.", total, users);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            producers.shutdownNow();
+        }
+
+        // Counters were bypassed, the next startup rebuilds them from the table.
+        jdbcTemplate.update("DELETE FROM user_statistics");
+
+        double seconds = (System.nanoTime() - start) / 1e9;
+        log.info("Generated [{}] users in [{}] s, [{}] users/s.",
+                written.get(), String.format("%.1f", seconds), Math.round(written.get() / seconds));
+    }
+
+    List<User> batch(long batch, String passwordHash, PhoneNumberPlan phoneNumbers) {
+
+        Random random = new Random(properties.getSeed() * 0x9E3779B97F4A7C15L + batch);
+        long first = batch * properties.getBatchSize();
+        long last = Math.min(first + properties.getBatchSize(), properties.getUsers());
+        long bornDays = BORN_TO.toEpochDay() - BORN_FROM.toEpochDay() + 1;
+
+        List<User> rows = new ArrayList<>((int) (last - first));
+        for (long index = first; index < last; index++) {
+            String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+            String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            LocalDateTime createdAt = CREATED_FROM.plus(CREATED_SPAN.multipliedBy(index).dividedBy(properties.getUsers()));
+
+            rows.add(User.builder()
+                    .id(UuidV7Generator.of(createdAt.toInstant(ZoneOffset.UTC).toEpochMilli(), (int) index,
+                            random.nextLong()))
+                    .firstName(firstName)
+                    .lastName(lastName)
+                    .dateOfBirth(BORN_FROM.plusDays(Math.floorMod(random.nextLong(), bornDays)))
+                    .phoneNumber(phoneNumbers.number(index))
+                    .email((firstName + "." + lastName + "." + index + "@example.com").toLowerCase(Locale.ROOT))
+                    .role(UserRole.USER)
+                    .password(passwordHash)
+                    .createdAt(createdAt)
+                    .build());
+        }
+
+        return rows;
+    }
+
+    private void insert(List<User> rows) {
+
+        StringJoiner values = new StringJoiner(", ");
+        String row = "(" + String.join(", ", Collections.nCopies(COLUMN_COUNT, "?")) + ")";
+        Object[] parameters = new Object[rows.size() * COLUMN_COUNT];
+
+        int p = 0;
+        for (User user : rows) {
+            values.add(row);
+            parameters[p++] = toBytes(user.getId());
+            parameters[p++] = user.getFirstName();
+            parameters[p++] = user.getLastName();
+            parameters[p++] = user.getDateOfBirth();
+            parameters[p++] = user.getPhoneNumber();
+            parameters[p++] = user.getEmail();
+            parameters[p++] = user.getRole().name();
+            parameters[p++] = user.getPassword();
+            parameters[p++] = Timestamp.valueOf(user.getCreatedAt());
+            parameters[p++] = 0L;
+            parameters[p++] = PhoneticKeys.primary(user.getFirstName());
+            parameters[p++] = PhoneticKeys.alternate(user.getFirstName());
+            parameters[p++] = PhoneticKeys.primary(user.getLastName());
+            parameters[p++] = PhoneticKeys.alternate(user.getLastName());
+            parameters[p++] = User.toMonthDay(user.getDateOfBirth());
+        }
+
+        jdbcTemplate.update("INSERT INTO users (" + COLUMNS + ") VALUES " + values, parameters);
+    }
+
+    private static byte[] toBytes(UUID id) {
+        return ByteBuffer.allocate(16)
+                .putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits())
+                .array();
+    }
+
+    /**
+     * Valid mobile numbers of a region, the shortest prefix of the region's example mobile number followed by
+     * the zero padded user index.
+     */
+    record PhoneNumberPlan(String region, int countryCode, String prefix, int digits) {
+
+        private static final int SAMPLE_SIZE = 200;
+
+        static PhoneNumberPlan forRegion(String region, long users) {
+
+            PhoneNumberUtil util = PhoneNumberUtil.getInstance();
+            Phonenumber.PhoneNumber example = util.getExampleNumberForType(region, PhoneNumberUtil.PhoneNumberType.MOBILE);
+            if (example == null) {
+                throw new IllegalStateException("No mobile numbers known for region [%s].".formatted(region));
+            }
+
+            String national = String.valueOf(example.getNationalNumber());
+            for (int prefixLength = 1; prefixLength < national.length(); prefixLength++) {
+                PhoneNumberPlan plan = new PhoneNumberPlan(region, example.getCountryCode(),
+                        national.substring(0, prefixLength), national.length() - prefixLength);
+                if (plan.capacity() < users) {
+                    break;
+                }
+                if (plan.sampleIsValid(util)) {
+                    return plan;
+                }
+            }
+
+            throw new IllegalStateException("Region [%s] has no mobile number range for [%d] users."
+                    .formatted(region, users));
+        }
+
+        String number(long index) {
+
+            String number = "+" + countryCode + prefix + String.format("%0" + digits + "d", index);
+            if (!isValid(PhoneNumberUtil.getInstance(), number)) {
+                throw new IllegalStateException("Generated phone number [%s] is not valid for region [%s]."
+                        .formatted(number, region));
+            }
+
+            return number;
+        }
+
+        private long capacity() {
+            return digits >= 18 ? Long.MAX_VALUE : (long) Math.pow(10, digits);
+        }
+
+        private boolean sampleIsValid(PhoneNumberUtil util) {
+
+            Random random = new Random(0);
+            for (int i = 0; i < SAMPLE_SIZE; i++) {
+                long index = i == 0 ? 0 : i == 1 ? capacity() - 1 : Math.floorMod(random.nextLong(), capacity());
+                String number = "+" + countryCode + prefix + String.format("%0" + digits + "d", index);
+                if (!isValid(util, number)) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        private boolean isValid(PhoneNumberUtil util, String number) {
+            try {
+                return util.isValidNumberForRegion(util.parse(number, region), region);
+            } catch (NumberParseException e) {
+                return false;
+            }
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.usermanagement.shared.generator;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.generator")
+public class SyntheticUserProperties {
+
+    private long users = 1_000_000;
+
+    // The same seed, user count and batch size always produce the same users.
+    private long seed = 42;
+
+    private int producers = Runtime.getRuntime().availableProcessors();
+
+    private int batchSize = 1_000;
+
+    // ISO 3166 region of the generated mobile numbers.
+    private String region = "BG";
+
+    // Every generated user gets this password, hashed once.
+    private String password = "Password123";
+}
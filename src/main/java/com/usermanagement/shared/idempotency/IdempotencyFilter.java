@@ -0,0 +1,236 @@
+package com.usermanagement.shared.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.usermanagement.web.dto.ErrorResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.*;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+
+/**
+ * Replays the response of a write request sent again with the same {@code Idempotency-Key} header, instead of
+ * running it twice. Keys are scoped to the caller, method and URI, and a key sent again with a different body
+ * is rejected. Runs after the security filter chain so the caller is known. Login is left out, its response
+ * holds a token that expires long before a replay would.
+ */
+@Slf4j
+@Component
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    public static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+
+    private static final Set<String> WRITE_METHODS = Set.of("POST", "PUT", "PATCH", "DELETE");
+    private static final String LOGIN_PATH = "/api/v1/login";
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyStore idempotencyStore;
+    private final IdempotencyProperties properties;
+    private final ObjectMapper objectMapper;
+
+    public IdempotencyFilter(IdempotencyStore idempotencyStore,
+                             IdempotencyProperties properties,
+                             ObjectMapper objectMapper) {
+        this.idempotencyStore = idempotencyStore;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return request.getHeader(IDEMPOTENCY_KEY) == null
+                || !WRITE_METHODS.contains(request.getMethod())
+                || request.getRequestURI().substring(request.getContextPath().length()).equals(LOGIN_PATH);
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain)
+            throws ServletException, IOException {
+
+        String idempotencyKey = request.getHeader(IDEMPOTENCY_KEY);
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            writeError(response, HttpStatus.BAD_REQUEST,
+                    "Idempotency-Key must be between 1 and %d characters.".formatted(MAX_KEY_LENGTH));
+            return;
+        }
+
+        // The body is held in memory until the response is stored, so its size is capped.
+        int maxBodySize = Math.toIntExact(properties.getMaxBodySize().toBytes());
+        if (request.getContentLengthLong() > maxBodySize) {
+            writeBodyTooLarge(response, maxBodySize);
+            return;
+        }
+        byte[] body = request.getInputStream().readNBytes(maxBodySize + 1);
+        if (body.length > maxBodySize) {
+            writeBodyTooLarge(response, maxBodySize);
+            return;
+        }
+
+        String key = String.join(" ", caller(), request.getMethod(), request.getRequestURI(),
+                Objects.toString(request.getQueryString(), ""), idempotencyKey);
+
+        IdempotencyStore.Result result;
+        try {
+            result = idempotencyStore.acquire(key, fingerprint(body));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            writeError(response, HttpStatus.SERVICE_UNAVAILABLE, "The request was interrupted, please retry.");
+            return;
+        }
+
+        switch (result.status()) {
+            case MISMATCH -> writeError(response, HttpStatus.UNPROCESSABLE_ENTITY,
+                    "Idempotency-Key [%s] was already used with a different request body.".formatted(idempotencyKey));
+            case IN_PROGRESS -> writeError(response, HttpStatus.CONFLICT,
+                    "A request with Idempotency-Key [%s] is still in progress, please retry.".formatted(idempotencyKey));
+            case FULL -> {
+                response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+                writeError(response, HttpStatus.SERVICE_UNAVAILABLE,
+                        "Too many requests with an Idempotency-Key are in progress, please retry shortly.");
+            }
+            case REPLAY -> replay(result.response(), response);
+            case OWNER -> execute(new CachedBodyRequest(request, body), response, filterChain, key, result.entry());
+        }
+    }
+
+    private void execute(HttpServletRequest request,
+                         HttpServletResponse response,
+                         FilterChain filterChain,
+                         String key,
+                         IdempotencyStore.Entry entry) throws ServletException, IOException {
+
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        try {
+            filterChain.doFilter(request, wrapper);
+        } catch (ServletException | IOException | RuntimeException e) {
+            idempotencyStore.abandon(key, entry);
+            throw e;
+        }
+
+        // Server errors are likely transient, a retry runs the request again.
+        if (wrapper.getStatus() >= HttpStatus.INTERNAL_SERVER_ERROR.value()) {
+            idempotencyStore.abandon(key, entry);
+        } else {
+            Map<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+            wrapper.getHeaderNames().forEach(name -> headers.put(name, List.copyOf(wrapper.getHeaders(name))));
+            if (wrapper.getContentType() != null) {
+                headers.put("Content-Type", List.of(wrapper.getContentType()));
+            }
+            idempotencyStore.complete(entry,
+                    new IdempotencyStore.StoredResponse(wrapper.getStatus(), headers, wrapper.getContentAsByteArray()));
+        }
+
+        wrapper.copyBodyToResponse();
+    }
+
+    private void replay(IdempotencyStore.StoredResponse stored, HttpServletResponse response) throws IOException {
+
+        response.setStatus(stored.status());
+        stored.headers().forEach((name, values) -> values.forEach(value -> response.addHeader(name, value)));
+        response.setHeader(IDEMPOTENT_REPLAYED, "true");
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    private void writeBodyTooLarge(HttpServletResponse response, int maxBodySize) throws IOException {
+        writeError(response, HttpStatus.PAYLOAD_TOO_LARGE,
+                "Requests with an Idempotency-Key are limited to %d bytes.".formatted(maxBodySize));
+    }
+
+    private void writeError(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new ErrorResponse(status.value(), message));
+    }
+
+    private static String caller() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication == null || !authentication.isAuthenticated() ? "anonymous" : authentication.getName();
+    }
+
+    private static String fingerprint(byte[] body) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        private CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    // The whole body is already in memory, so it is available and read to the end at once.
+                    try {
+                        readListener.onDataAvailable();
+                        readListener.onAllDataRead();
+                    } catch (IOException e) {
+                        readListener.onError(e);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return input.read(buffer, offset, length);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding == null ? StandardCharsets.UTF_8 : Charset.forName(encoding);
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+    }
+}
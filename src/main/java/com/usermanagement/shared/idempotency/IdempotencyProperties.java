@@ -0,0 +1,26 @@
+package com.usermanagement.shared.idempotency;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.idempotency")
+public class IdempotencyProperties {
+
+    // How long a completed response is replayed for a repeated key.
+    private Duration ttl = Duration.ofHours(24);
+
+    // The oldest completed keys are dropped beyond this many, new keys answer 503 while all of them are running.
+    private int maxEntries = 10_000;
+
+    // How long a duplicate waits for the first request before answering 409.
+    private Duration waitTimeout = Duration.ofSeconds(30);
+
+    // Larger bodies with an Idempotency-Key answer 413, the filter keeps the body in memory.
+    private DataSize maxBodySize = DataSize.ofMegabytes(1);
+}
@@ -0,0 +1,114 @@
+package com.usermanagement.shared.idempotency;
+
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+
+/**
+ * Bounded in-memory record of requests by idempotency key. The first request for a key owns it and later ones
+ * wait for its response. Keys expire a fixed time after they were first seen, so insertion order is also
+ * expiry order and expired keys are dropped from the head of the map. A key whose request is still running is
+ * never dropped, as its retries would run the request again, so a store full of those refuses new keys.
+ */
+@Component
+public class IdempotencyStore {
+
+    public enum Status {OWNER, REPLAY, MISMATCH, IN_PROGRESS, FULL}
+
+    public record StoredResponse(int status, Map<String, List<String>> headers, byte[] body) {
+    }
+
+    public record Result(Status status, Entry entry, StoredResponse response) {
+    }
+
+    public static final class Entry {
+
+        private final String fingerprint;
+        private final Instant expiresAt;
+        private final CompletableFuture<StoredResponse> response = new CompletableFuture<>();
+
+        private Entry(String fingerprint, Instant expiresAt) {
+            this.fingerprint = fingerprint;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private final Map<String, Entry> entries = new LinkedHashMap<>();
+    private final IdempotencyProperties properties;
+    private final Clock clock;
+
+    public IdempotencyStore(IdempotencyProperties properties, Clock clock) {
+        this.properties = properties;
+        this.clock = clock;
+    }
+
+    public Result acquire(String key, String fingerprint) throws InterruptedException {
+
+        long deadline = System.nanoTime() + properties.getWaitTimeout().toNanos();
+        while (true) {
+            Entry entry;
+            synchronized (this) {
+                Instant now = clock.instant();
+                evict(now);
+                entry = entries.get(key);
+                if (entry == null) {
+                    if (entries.size() >= properties.getMaxEntries()) {
+                        return new Result(Status.FULL, null, null);
+                    }
+                    entry = new Entry(fingerprint, now.plus(properties.getTtl()));
+                    entries.put(key, entry);
+                    return new Result(Status.OWNER, entry, null);
+                }
+            }
+
+            if (!entry.fingerprint.equals(fingerprint)) {
+                return new Result(Status.MISMATCH, entry, null);
+            }
+
+            try {
+                StoredResponse response = entry.response.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                return new Result(Status.REPLAY, entry, response);
+            } catch (TimeoutException e) {
+                return new Result(Status.IN_PROGRESS, entry, null);
+            } catch (ExecutionException | CancellationException e) {
+                // The first request failed without a response worth keeping, compete for the key again.
+            }
+        }
+    }
+
+    public void complete(Entry entry, StoredResponse response) {
+        entry.response.complete(response);
+    }
+
+    public void abandon(String key, Entry entry) {
+        synchronized (this) {
+            entries.remove(key, entry);
+        }
+        entry.response.cancel(false);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private void evict(Instant now) {
+
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            Entry eldest = iterator.next();
+            if (entries.size() < properties.getMaxEntries() && eldest.expiresAt.isAfter(now)) {
+                return;
+            }
+            // Running requests are completed or abandoned by their owner, later keys may be evictable.
+            if (eldest.response.isDone()) {
+                iterator.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.usermanagement.shared.security;
+
+import com.usermanagement.shared.config.JwtSigningProperties;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.security.SignatureException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.math.BigInteger;
+import java.security.*;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.*;
+
+@Slf4j
+@Component
+public class JwtKeyStore extends SigningKeyResolverAdapter {
+
+    private static final int P256_COORDINATE_LENGTH = 32;
+
+    private final Map<String, PublicKey> verificationKeys = new LinkedHashMap<>();
+    private final String activeKeyId;
+    private final PrivateKey activeSigningKey;
+    private final Map<String, Object> jwks;
+
+    public JwtKeyStore(JwtSigningProperties properties) {
+
+        if (properties.getKeys().isEmpty()) {
+            KeyPair keyPair = generateKeyPair();
+            this.activeKeyId = UUID.randomUUID().toString();
+            this.activeSigningKey = keyPair.getPrivate();
+            this.verificationKeys.put(activeKeyId, keyPair.getPublic());
+            log.warn("No token signing keys configured, generated ephemeral key [{}]. "
+                    + "Tokens will not survive a restart or verify on other nodes.", activeKeyId);
+        } else {
+            PrivateKey signingKey = null;
+            for (JwtSigningProperties.Key key : properties.getKeys()) {
+                if (key.getId() == null || key.getPublicKey() == null) {
+                    throw new IllegalStateException("Token signing keys require an id and a public key.");
+                }
+                verificationKeys.put(key.getId(), decodePublicKey(key.getPublicKey()));
+                if (key.getId().equals(properties.getActiveKeyId()) && key.getPrivateKey() != null) {
+                    signingKey = decodePrivateKey(key.getPrivateKey());
+                }
+            }
+            if (signingKey == null) {
+                throw new IllegalStateException("Active signing key [%s] is not configured with a private key."
+                        .formatted(properties.getActiveKeyId()));
+            }
+            this.activeKeyId = properties.getActiveKeyId();
+            this.activeSigningKey = signingKey;
+        }
+
+        this.jwks = Map.of("keys", verificationKeys.entrySet().stream()
+                .map(entry -> toJwk(entry.getKey(), (ECPublicKey) entry.getValue()))
+                .toList());
+    }
+
+    public String getActiveKeyId() {
+        return activeKeyId;
+    }
+
+    public PrivateKey getActiveSigningKey() {
+        return activeSigningKey;
+    }
+
+    public Map<String, Object> getJwks() {
+        return jwks;
+    }
+
+    @Override
+    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+
+        PublicKey key = header.getKeyId() == null ? null : verificationKeys.get(header.getKeyId());
+        if (key == null) {
+            throw new SignatureException("Unknown signing key [%s].".formatted(header.getKeyId()));
+        }
+
+        return key;
+    }
+
+    private static Map<String, Object> toJwk(String keyId, ECPublicKey publicKey) {
+
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+
+        Map<String, Object> jwk = new LinkedHashMap<>();
+        jwk.put("kty", "EC");
+        jwk.put("crv", "P-256");
+        jwk.put("use", "sig");
+        jwk.put("alg", "ES256");
+        jwk.put("kid", keyId);
+        jwk.put("x", encoder.encodeToString(toUnsignedBytes(publicKey.getW().getAffineX())));
+        jwk.put("y", encoder.encodeToString(toUnsignedBytes(publicKey.getW().getAffineY())));
+
+        return jwk;
+    }
+
+    private static byte[] toUnsignedBytes(BigInteger coordinate) {
+
+        byte[] bytes = coordinate.toByteArray();
+        byte[] result = new byte[P256_COORDINATE_LENGTH];
+        int length = Math.min(bytes.length, P256_COORDINATE_LENGTH);
+        System.arraycopy(bytes, bytes.length - length, result, P256_COORDINATE_LENGTH - length, length);
+
+        return result;
+    }
+
+    private static KeyPair generateKeyPair() {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+            generator.initialize(new ECGenParameterSpec("secp256r1"));
+            return generator.generateKeyPair();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to generate token signing key.", e);
+        }
+    }
+
+    private static PublicKey decodePublicKey(String encoded) {
+        try {
+            return KeyFactory.getInstance("EC")
+                    .generatePublic(new X509EncodedKeySpec(Base64.getMimeDecoder().decode(encoded)));
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new IllegalStateException("Invalid token signing public key.", e);
+        }
+    }
+
+    private static PrivateKey decodePrivateKey(String encoded) {
+        try {
+            return KeyFactory.getInstance("EC")
+                    .generatePrivate(new PKCS8EncodedKeySpec(Base64.getMimeDecoder().decode(encoded)));
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new IllegalStateException("Invalid token signing private key.", e);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.usermanagement.shared.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.function.IntFunction;
+
+/**
+ * Picks password hashing work factors by timing this machine. A factor is measured at its minimum and
+ * extrapolated to the target latency, BCrypt cost doubles per strength step and Argon2 cost grows linearly
+ * with iterations. The minimums are the recommended lower bounds and are never undercut.
+ */
+@Slf4j
+public final class PasswordHashCalibration {
+
+    static final int MIN_BCRYPT_STRENGTH = 10;
+    static final int MAX_BCRYPT_STRENGTH = 31;
+
+    static final int ARGON2_SALT_LENGTH = 16;
+    static final int ARGON2_HASH_LENGTH = 32;
+    static final int ARGON2_PARALLELISM = 1;
+    static final int ARGON2_MEMORY_KIB = 19 * 1024;
+    static final int MIN_ARGON2_ITERATIONS = 2;
+    static final int MAX_ARGON2_ITERATIONS = 64;
+
+    private static final String SAMPLE_PASSWORD = "calibration-sample-password";
+
+    private PasswordHashCalibration() {
+    }
+
+    public static BCryptPasswordEncoder bcrypt(Duration targetLatency) {
+
+        long base = measure(new BCryptPasswordEncoder(MIN_BCRYPT_STRENGTH));
+        int steps = (int) Math.floor(Math.log((double) targetLatency.toNanos() / base) / Math.log(2));
+        int strength = Math.clamp(MIN_BCRYPT_STRENGTH + (long) steps, MIN_BCRYPT_STRENGTH, MAX_BCRYPT_STRENGTH);
+
+        return report("bcrypt", "strength", strength, BCryptPasswordEncoder::new);
+    }
+
+    public static Argon2PasswordEncoder argon2(Duration targetLatency) {
+
+        long base = measure(argon2(MIN_ARGON2_ITERATIONS));
+        long iterations = MIN_ARGON2_ITERATIONS * targetLatency.toNanos() / base;
+
+        return report("argon2", "iterations",
+                Math.clamp(iterations, MIN_ARGON2_ITERATIONS, MAX_ARGON2_ITERATIONS),
+                PasswordHashCalibration::argon2);
+    }
+
+    private static Argon2PasswordEncoder argon2(int iterations) {
+        return new Argon2PasswordEncoder(ARGON2_SALT_LENGTH, ARGON2_HASH_LENGTH, ARGON2_PARALLELISM,
+                ARGON2_MEMORY_KIB, iterations);
+    }
+
+    private static <T extends PasswordEncoder> T report(String algorithm, String factor, int value,
+                                                         IntFunction<T> encoderFactory) {
+
+        T encoder = encoderFactory.apply(value);
+        log.info("Password hashing calibrated to {} {} [{}], [{}] ms per hash.",
+                algorithm, factor, value, Duration.ofNanos(measure(encoder)).toMillis());
+
+        return encoder;
+    }
+
+    // Second run of the two, the first one pays for class loading and JIT.
+    private static long measure(PasswordEncoder encoder) {
+
+        encoder.encode(SAMPLE_PASSWORD);
+        long start = System.nanoTime();
+        encoder.encode(SAMPLE_PASSWORD);
+
+        return Math.max(1, System.nanoTime() - start);
+    }
+}
@@ -0,0 +1,68 @@
+package com.usermanagement.shared.tracing;
+
+import io.opentelemetry.exporter.logging.otlp.OtlpJsonLoggingSpanExporter;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.logging.FileHandler;
+import java.util.logging.Formatter;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+/**
+ * Appends spans to a local file as OTLP JSON, one {@code ResourceSpans} object per line, readable by any
+ * OTLP/JSON tooling without running a collector. The OpenTelemetry JSON exporter writes to a
+ * java.util.logging logger, which is detached from the application log and pointed at the file. The file rolls
+ * over at {@code limit} bytes and {@code count} files are kept, numbered from 0 (the current one) upwards.
+ */
+public class OtlpJsonFileSpanExporter implements SpanExporter {
+
+    private final SpanExporter delegate = OtlpJsonLoggingSpanExporter.create();
+    // Held so the configured logger is not garbage collected and recreated without the file handler.
+    private final Logger logger = Logger.getLogger(OtlpJsonLoggingSpanExporter.class.getName());
+    private final FileHandler fileHandler;
+
+    public OtlpJsonFileSpanExporter(Path file, int limit, int count) {
+        try {
+            if (file.toAbsolutePath().getParent() != null) {
+                Files.createDirectories(file.toAbsolutePath().getParent());
+            }
+            this.fileHandler = new FileHandler(file.toString().replace("%", "%%"), limit, count, true);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to open trace file [%s].".formatted(file), e);
+        }
+
+        fileHandler.setFormatter(new Formatter() {
+            @Override
+            public String format(LogRecord record) {
+                return record.getMessage() + System.lineSeparator();
+            }
+        });
+        logger.setUseParentHandlers(false);
+        logger.addHandler(fileHandler);
+    }
+
+    @Override
+    public CompletableResultCode export(Collection<SpanData> spans) {
+        return delegate.export(spans);
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+        fileHandler.flush();
+        return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+        logger.removeHandler(fileHandler);
+        fileHandler.close();
+        return delegate.shutdown();
+    }
+}
@@ -0,0 +1,81 @@
+package com.usermanagement.shared.tracing;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import lombok.NonNull;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+import java.nio.file.Path;
+
+/**
+ * Spans beyond the HTTP server span Spring records itself: every repository method call, and the export of
+ * sampled spans to a local OTLP JSON file. Sampling is {@code management.tracing.sampling.probability}, at
+ * zero spans are not recorded and an observation costs little more than its metrics timer.
+ */
+@Configuration
+public class TracingConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.tracing", name = "file")
+    public SpanExporter otlpJsonFileSpanExporter(TracingProperties properties) {
+        return new OtlpJsonFileSpanExporter(Path.of(properties.getFile()),
+                Math.toIntExact(properties.getMaxFileSize().toBytes()), properties.getMaxFiles());
+    }
+
+    @Bean
+    public static BeanPostProcessor repositoryObservationPostProcessor(
+            ObjectProvider<ObservationRegistry> observationRegistry) {
+
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, repositoryInformation) -> proxyFactory.addAdvice(new ObservingInterceptor(
+                                    observationRegistry,
+                                    repositoryInformation.getRepositoryInterface().getSimpleName()))));
+                }
+                return bean;
+            }
+        };
+    }
+
+    private static final class ObservingInterceptor implements MethodInterceptor {
+
+        private final ObjectProvider<ObservationRegistry> observationRegistryProvider;
+        private final String repository;
+        // Resolved on first use, repositories are created before the registry is fully configured.
+        private volatile ObservationRegistry observationRegistry;
+
+        private ObservingInterceptor(ObjectProvider<ObservationRegistry> observationRegistryProvider,
+                                     String repository) {
+            this.observationRegistryProvider = observationRegistryProvider;
+            this.repository = repository;
+        }
+
+        @Override
+        public Object invoke(@NonNull MethodInvocation invocation) throws Throwable {
+
+            ObservationRegistry registry = observationRegistry;
+            if (registry == null) {
+                registry = observationRegistryProvider.getIfAvailable(() -> ObservationRegistry.NOOP);
+                observationRegistry = registry;
+            }
+
+            String method = invocation.getMethod().getName();
+            return Observation.createNotStarted("repository.invocation", registry)
+                    .contextualName(repository + "#" + method)
+                    .lowCardinalityKeyValue("repository", repository)
+                    .lowCardinalityKeyValue("method", method)
+                    .observeChecked(invocation::proceed);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.usermanagement.shared.tracing;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.tracing")
+public class TracingProperties {
+
+    // Sampled spans are appended here as OTLP JSON lines, unset disables the file.
+    private String file;
+
+    // The file rolls over at this size, the oldest of maxFiles files is deleted.
+    private DataSize maxFileSize = DataSize.ofMegabytes(100);
+
+    private int maxFiles = 5;
+}
@@ -0,0 +1,48 @@
+package com.usermanagement.shared.utils;
+
+import lombok.experimental.UtilityClass;
+import org.apache.commons.codec.language.DoubleMetaphone;
+
+import java.text.Normalizer;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+@UtilityClass
+public class PhoneticKeys {
+
+    private static final DoubleMetaphone ENCODER = new DoubleMetaphone();
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    public static String primary(String name) {
+        return encode(name, false);
+    }
+
+    public static String alternate(String name) {
+        return encode(name, true);
+    }
+
+    public static Set<String> keys(String name) {
+
+        Set<String> keys = new LinkedHashSet<>();
+        String primary = primary(name);
+        if (primary != null) {
+            keys.add(primary);
+            keys.add(alternate(name));
+        }
+
+        return keys;
+    }
+
+    private static String encode(String name, boolean alternate) {
+
+        if (name == null || name.isBlank()) {
+            return null;
+        }
+
+        String folded = COMBINING_MARKS.matcher(Normalizer.normalize(name, Normalizer.Form.NFD)).replaceAll("");
+        String key = ENCODER.doubleMetaphone(folded, alternate);
+
+        return key == null || key.isEmpty() ? null : key;
+    }
+}
@@ -0,0 +1,44 @@
+package com.usermanagement.shared.utils;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.uuid.UuidValueGenerator;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Time-ordered UUIDv7 (RFC 9562) ids: a 48-bit millisecond timestamp, a 12-bit counter that keeps ids
+ * generated within the same millisecond increasing, and 62 random bits.
+ */
+public class UuidV7Generator implements UuidValueGenerator {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    // timestamp << 12 | counter of the last generated id
+    private static final AtomicLong LAST_TIMESTAMP_AND_COUNTER = new AtomicLong();
+
+    @Override
+    public UUID generateUuid(SharedSessionContractImplementor session) {
+        return next();
+    }
+
+    public static UUID next() {
+
+        long now = System.currentTimeMillis() << 12;
+        long timestampAndCounter = LAST_TIMESTAMP_AND_COUNTER
+                .updateAndGet(last -> now > last ? now : last + 1);
+
+        return of(timestampAndCounter >>> 12, (int) (timestampAndCounter & 0xFFFL), RANDOM.nextLong());
+    }
+
+    public static UUID of(long epochMillis, int counter, long random) {
+
+        long mostSigBits = epochMillis << 16
+                | 0x7000L
+                | (counter & 0xFFFL);
+        long leastSigBits = random & 0x3FFFFFFFFFFFFFFFL | 0x8000000000000000L;
+
+        return new UUID(mostSigBits, leastSigBits);
+    }
+}
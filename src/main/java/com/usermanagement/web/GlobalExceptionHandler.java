@@ -1,9 +1,15 @@
 package com.usermanagement.web;
 
+import com.usermanagement.shared.exception.InvalidCredentialsException;
+import com.usermanagement.shared.exception.InvalidFilterException;
 import com.usermanagement.shared.exception.PhoneNumberAlreadyExistException;
+import com.usermanagement.shared.exception.PreconditionFailedException;
+import com.usermanagement.shared.exception.UnsupportedFieldException;
 import com.usermanagement.shared.exception.UserAlreadyExistsException;
 import com.usermanagement.shared.exception.UserNotFoundException;
 import com.usermanagement.web.dto.ErrorResponse;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -44,6 +50,14 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
     }
 
+    @ExceptionHandler(InvalidCredentialsException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidCredentialsException(InvalidCredentialsException e) {
+
+        ErrorResponse errorResponse = new ErrorResponse(HttpStatus.UNAUTHORIZED.value(), e.getMessage());
+
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(errorResponse);
+    }
+
     @ExceptionHandler({PhoneNumberAlreadyExistException.class, UserAlreadyExistsException.class})
     public ResponseEntity<ErrorResponse> AlreadyExistsException(Exception e) {
 
@@ -51,4 +65,39 @@ public class GlobalExceptionHandler {
 
         return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
     }
+
+    @ExceptionHandler({UnsupportedFieldException.class, InvalidFilterException.class})
+    public ResponseEntity<ErrorResponse> handleBadRequestException(RuntimeException e) {
+
+        ErrorResponse errorResponse = new ErrorResponse(HttpStatus.BAD_REQUEST.value(), e.getMessage());
+
+        return ResponseEntity.badRequest().body(errorResponse);
+    }
+
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<ErrorResponse> handlePreconditionFailedException(PreconditionFailedException e) {
+
+        ErrorResponse errorResponse = new ErrorResponse(HttpStatus.PRECONDITION_FAILED.value(), e.getMessage());
+
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(errorResponse);
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLockingFailureException() {
+
+        ErrorResponse errorResponse = new ErrorResponse(HttpStatus.CONFLICT.value(),
+                "The resource was modified concurrently, please retry.");
+
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+    }
+
+    // A unique email or phone number taken concurrently, or still held by a soft deleted user awaiting purge.
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ErrorResponse> handleDataIntegrityViolationException() {
+
+        ErrorResponse errorResponse = new ErrorResponse(HttpStatus.CONFLICT.value(),
+                "The email or phone number is already in use.");
+
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+    }
 }
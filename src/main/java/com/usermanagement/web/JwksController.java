@@ -0,0 +1,31 @@
+package com.usermanagement.web;
+
+import com.usermanagement.shared.config.JwtSigningProperties;
+import com.usermanagement.shared.security.JwtKeyStore;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@RestController
+public class JwksController {
+
+    private final JwtKeyStore jwtKeyStore;
+    private final CacheControl cacheControl;
+
+    public JwksController(JwtKeyStore jwtKeyStore,
+                          JwtSigningProperties jwtSigningProperties) {
+        this.jwtKeyStore = jwtKeyStore;
+        this.cacheControl = CacheControl.maxAge(jwtSigningProperties.getJwksMaxAge()).cachePublic();
+    }
+
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<Map<String, Object>> getJwks() {
+
+        return ResponseEntity.ok()
+                .cacheControl(cacheControl)
+                .body(jwtKeyStore.getJwks());
+    }
+}
@@ -1,15 +1,22 @@
 package com.usermanagement.web;
 
 import com.usermanagement.model.User;
+import com.usermanagement.repository.DateOfBirthRange;
 import com.usermanagement.service.UserService;
+import com.usermanagement.service.UserStatistics;
+import com.usermanagement.shared.exception.PreconditionFailedException;
 import com.usermanagement.web.dto.*;
 import com.usermanagement.web.mapper.DtoMapper;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @RestController
@@ -17,16 +24,24 @@ import java.util.UUID;
 public class UserController {
 
     private final UserService userService;
+    private final UserStatistics userStatistics;
 
-    public UserController(UserService userService) {
+    public UserController(UserService userService,
+                          UserStatistics userStatistics) {
         this.userService = userService;
+        this.userStatistics = userStatistics;
     }
 
     @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
     @GetMapping
-    public ResponseEntity<List<InfoResponse>> getAllUsers(@RequestParam(required = false) String search) {
-
-        List<User> users = userService.getAllUsers(search);
+    public ResponseEntity<List<InfoResponse>> getAllUsers(@RequestParam(required = false) String search,
+                                                          @RequestParam(required = false) LocalDate bornFrom,
+                                                          @RequestParam(required = false) LocalDate bornTo,
+                                                          @RequestParam(required = false) Integer minAge,
+                                                          @RequestParam(required = false) Integer maxAge) {
+
+        DateOfBirthRange range = userService.toDateOfBirthRange(bornFrom, bornTo, minAge, maxAge);
+        List<User> users = userService.getAllUsers(search, range);
         List<InfoResponse> userInfoList = users
                 .stream()
                 .map(DtoMapper::fromUser)
@@ -35,6 +50,22 @@ public class UserController {
         return ResponseEntity.ok(userInfoList);
     }
 
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    @GetMapping(params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> getAllUserFields(@RequestParam(required = false) String search,
+                                                                      @RequestParam List<String> fields,
+                                                                      @RequestParam(required = false) LocalDate bornFrom,
+                                                                      @RequestParam(required = false) LocalDate bornTo,
+                                                                      @RequestParam(required = false) Integer minAge,
+                                                                      @RequestParam(required = false) Integer maxAge) {
+
+        DateOfBirthRange range = userService.toDateOfBirthRange(bornFrom, bornTo, minAge, maxAge);
+        List<Map<String, Object>> users = userService.getAllUserFields(
+                search, DtoMapper.toInfoResponseFields(fields), range);
+
+        return ResponseEntity.ok(users);
+    }
+
     @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
     @GetMapping("/by-email")
     public ResponseEntity<InfoResponse> getByEmail(@RequestParam String email) {
@@ -42,15 +73,80 @@ public class UserController {
         User user = userService.getUserByEmail(email);
         InfoResponse infoResponse = DtoMapper.fromUser(user);
 
-        return ResponseEntity.ok(infoResponse);
+        return ResponseEntity.ok().eTag(String.valueOf(user.getVersion())).body(infoResponse);
+    }
+
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    @GetMapping("/stats")
+    public ResponseEntity<StatsResponse> getStatistics() {
+        return ResponseEntity.ok(DtoMapper.fromStatistics(userStatistics.snapshot()));
+    }
+
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    @GetMapping("/birthdays")
+    public ResponseEntity<List<InfoResponse>> getUpcomingBirthdays(@RequestParam(defaultValue = "7") int days) {
+
+        List<InfoResponse> users = userService.getUpcomingBirthdays(days)
+                .stream()
+                .map(DtoMapper::fromUser)
+                .toList();
+
+        return ResponseEntity.ok(users);
+    }
+
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    @GetMapping("/suggest")
+    public ResponseEntity<List<SuggestionResponse>> suggestUsers(@RequestParam String q,
+                                                                 @RequestParam(defaultValue = "10") int limit) {
+
+        List<SuggestionResponse> suggestions = userService.suggestUsers(q, limit)
+                .stream()
+                .map(DtoMapper::fromSuggestion)
+                .toList();
+
+        return ResponseEntity.ok(suggestions);
+    }
+
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    @GetMapping("/fuzzy-search")
+    public ResponseEntity<List<InfoResponse>> searchUsersFuzzy(@RequestParam String name,
+                                                               @RequestParam(defaultValue = "10") int limit) {
+
+        List<InfoResponse> users = userService.searchUsersFuzzy(name, limit)
+                .stream()
+                .map(DtoMapper::fromUser)
+                .toList();
+
+        return ResponseEntity.ok(users);
+    }
+
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    @PostMapping("/lookup")
+    public ResponseEntity<Map<String, InfoResponse>> lookupUsers(@RequestBody @Valid LookupRequest lookupRequest) {
+
+        Map<String, InfoResponse> users = new LinkedHashMap<>();
+
+        if (lookupRequest.getEmails() != null) {
+            userService.lookupUsersByEmail(lookupRequest.getEmails())
+                    .forEach((email, user) -> users.put(email, user != null ? DtoMapper.fromUser(user) : null));
+        }
+
+        if (lookupRequest.getIds() != null) {
+            userService.lookupUsersById(lookupRequest.getIds())
+                    .forEach((id, user) -> users.put(id.toString(), user != null ? DtoMapper.fromUser(user) : null));
+        }
+
+        return ResponseEntity.ok(users);
     }
 
     @PreAuthorize("hasRole('ADMIN')")
     @PatchMapping("/{userId}")
     public ResponseEntity<Void> updateUser(@RequestBody @Valid UpdateRequest updateRequest,
-                                           @PathVariable UUID userId) {
+                                           @PathVariable UUID userId,
+                                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                                           String ifMatch) {
 
-        userService.updateUser(userId, updateRequest);
+        userService.updateUser(userId, updateRequest, toExpectedVersion(ifMatch));
 
         return ResponseEntity.noContent().build();
     }
@@ -64,4 +160,23 @@ public class UserController {
         return ResponseEntity.noContent().build();
     }
 
+    private static Long toExpectedVersion(String ifMatch) {
+
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+
+        // If-Match uses the strong comparison (RFC 9110), a weak tag never matches.
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) {
+            throw new PreconditionFailedException("If-Match [%s] is a weak entity tag.".formatted(ifMatch));
+        }
+        tag = tag.replace("\"", "");
+
+        try {
+            return Long.parseLong(tag);
+        } catch (NumberFormatException e) {
+            throw new PreconditionFailedException("If-Match [%s] does not match any user version.".formatted(ifMatch));
+        }
+    }
 }
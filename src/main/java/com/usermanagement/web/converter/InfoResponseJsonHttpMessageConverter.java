@@ -0,0 +1,338 @@
+package com.usermanagement.web.converter;
+
+import com.usermanagement.web.dto.ErrorResponse;
+import com.usermanagement.web.dto.InfoResponse;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.lang.NonNull;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * Writes {@link InfoResponse}, lists of them and {@link ErrorResponse} as JSON straight to the response stream,
+ * byte for byte what Jackson produces for them, without bean introspection or a {@link DateTimeFormatter} per
+ * field. Reading and every other type are left to the Jackson converter.
+ */
+public class InfoResponseJsonHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    private static final int BUFFER_SIZE = 8 * 1024;
+    private static final int POOLED_BUFFERS = 64;
+
+    private static final byte[] FIRST_NAME = ascii("{\"firstName\":");
+    private static final byte[] LAST_NAME = ascii(",\"lastName\":");
+    private static final byte[] DATE_OF_BIRTH = ascii(",\"dateOfBirth\":");
+    private static final byte[] PHONE_NUMBER = ascii(",\"phoneNumber\":");
+    private static final byte[] EMAIL = ascii(",\"email\":");
+    private static final byte[] CREATED_AT = ascii(",\"createdAt\":");
+    private static final byte[] STATUS = ascii("{\"status\":");
+    private static final byte[] MESSAGE = ascii(",\"message\":");
+    private static final byte[] TIMESTAMP = ascii(",\"timestamp\":");
+    private static final byte[] NULL = ascii("null");
+    private static final byte[] HEX = ascii("0123456789ABCDEF");
+
+    // Requests run on virtual threads, so buffers are pooled rather than kept per thread.
+    private final Queue<byte[]> buffers = new ArrayBlockingQueue<>(POOLED_BUFFERS);
+    private final ObservationRegistry observationRegistry;
+
+    public InfoResponseJsonHttpMessageConverter(ObservationRegistry observationRegistry) {
+        super(MediaType.APPLICATION_JSON);
+        this.observationRegistry = observationRegistry;
+    }
+
+    @Override
+    public boolean canRead(@NonNull Type type, Class<?> contextClass, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(Type type, @NonNull Class<?> clazz, MediaType mediaType) {
+
+        if (!canWrite(mediaType)) {
+            return false;
+        }
+
+        ResolvableType resolvableType = type != null ? ResolvableType.forType(type) : ResolvableType.forClass(clazz);
+        Class<?> resolved = resolvableType.toClass();
+
+        if (List.class.isAssignableFrom(resolved)) {
+            return resolvableType.asCollection().getGeneric().toClass() == InfoResponse.class;
+        }
+
+        return resolved == InfoResponse.class || resolved == ErrorResponse.class;
+    }
+
+    @Override
+    protected boolean supports(@NonNull Class<?> clazz) {
+        return InfoResponse.class == clazz || ErrorResponse.class == clazz || List.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected void writeInternal(@NonNull Object body, Type type, HttpOutputMessage outputMessage) throws IOException {
+
+        Observation observation = Observation.createNotStarted("http.response.write", observationRegistry)
+                .contextualName("json write")
+                .start();
+        byte[] buffer = Objects.requireNonNullElseGet(buffers.poll(), () -> new byte[BUFFER_SIZE]);
+        try (Observation.Scope ignored = observation.openScope()) {
+            JsonOutput output = new JsonOutput(outputMessage.getBody(), buffer);
+            if (body instanceof InfoResponse infoResponse) {
+                writeInfoResponse(output, infoResponse);
+            } else if (body instanceof ErrorResponse errorResponse) {
+                writeErrorResponse(output, errorResponse);
+            } else {
+                output.writeByte('[');
+                boolean first = true;
+                for (Object element : (List<?>) body) {
+                    if (!first) {
+                        output.writeByte(',');
+                    }
+                    writeInfoResponse(output, (InfoResponse) element);
+                    first = false;
+                }
+                output.writeByte(']');
+            }
+            output.flush();
+        } catch (IOException | RuntimeException e) {
+            observation.error(e);
+            throw e;
+        } finally {
+            buffers.offer(buffer);
+            observation.stop();
+        }
+    }
+
+    @Override
+    @NonNull
+    public Object read(@NonNull Type type, Class<?> contextClass, @NonNull HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Reading JSON is left to the Jackson converter.", inputMessage);
+    }
+
+    @Override
+    @NonNull
+    protected Object readInternal(@NonNull Class<?> clazz, @NonNull HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Reading JSON is left to the Jackson converter.", inputMessage);
+    }
+
+    private static void writeInfoResponse(JsonOutput output, InfoResponse infoResponse) throws IOException {
+
+        if (infoResponse == null) {
+            output.writeRaw(NULL);
+            return;
+        }
+
+        output.writeRaw(FIRST_NAME);
+        output.writeString(infoResponse.getFirstName());
+        output.writeRaw(LAST_NAME);
+        output.writeString(infoResponse.getLastName());
+        output.writeRaw(DATE_OF_BIRTH);
+        output.writeDate(infoResponse.getDateOfBirth());
+        output.writeRaw(PHONE_NUMBER);
+        output.writeString(infoResponse.getPhoneNumber());
+        output.writeRaw(EMAIL);
+        output.writeString(infoResponse.getEmail());
+        output.writeRaw(CREATED_AT);
+        output.writeDateTime(infoResponse.getCreatedAt());
+        output.writeByte('}');
+    }
+
+    private static void writeErrorResponse(JsonOutput output, ErrorResponse errorResponse) throws IOException {
+
+        output.writeRaw(STATUS);
+        output.writeInt(errorResponse.getStatus());
+        output.writeRaw(MESSAGE);
+        output.writeString(errorResponse.getMessage());
+        output.writeRaw(TIMESTAMP);
+        output.writeDateTime(errorResponse.getTimestamp());
+        output.writeByte('}');
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * UTF-8 JSON tokens written into a fixed buffer that is flushed to the stream whenever it fills up.
+     */
+    private static final class JsonOutput {
+
+        // Longest single write below: a quoted ISO date-time, a character escape is at most six bytes.
+        private static final int MAX_TOKEN = 32;
+
+        private final OutputStream stream;
+        private final byte[] buffer;
+        private int position;
+
+        private JsonOutput(OutputStream stream, byte[] buffer) {
+            this.stream = stream;
+            this.buffer = buffer;
+        }
+
+        private void writeByte(char value) throws IOException {
+            ensureCapacity(1);
+            buffer[position++] = (byte) value;
+        }
+
+        private void writeRaw(byte[] bytes) throws IOException {
+            ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, buffer, position, bytes.length);
+            position += bytes.length;
+        }
+
+        private void writeString(String value) throws IOException {
+
+            if (value == null) {
+                writeRaw(NULL);
+                return;
+            }
+
+            writeByte('"');
+            for (int i = 0; i < value.length(); i++) {
+                ensureCapacity(MAX_TOKEN);
+                char c = value.charAt(i);
+                if (c < 0x80) {
+                    if (c >= 0x20 && c != '"' && c != '\\') {
+                        buffer[position++] = (byte) c;
+                    } else {
+                        writeEscaped(c);
+                    }
+                } else if (c < 0x800) {
+                    buffer[position++] = (byte) (0xC0 | c >> 6);
+                    buffer[position++] = (byte) (0x80 | c & 0x3F);
+                } else if (Character.isSurrogate(c)) {
+                    // Jackson escapes each half of a surrogate pair instead of combining them.
+                    writeEscaped(c);
+                } else {
+                    buffer[position++] = (byte) (0xE0 | c >> 12);
+                    buffer[position++] = (byte) (0x80 | c >> 6 & 0x3F);
+                    buffer[position++] = (byte) (0x80 | c & 0x3F);
+                }
+            }
+            writeByte('"');
+        }
+
+        private void writeEscaped(char c) {
+
+            buffer[position++] = '\\';
+            switch (c) {
+                case '"', '\\' -> buffer[position++] = (byte) c;
+                case '\b' -> buffer[position++] = 'b';
+                case '\t' -> buffer[position++] = 't';
+                case '\n' -> buffer[position++] = 'n';
+                case '\f' -> buffer[position++] = 'f';
+                case '\r' -> buffer[position++] = 'r';
+                default -> {
+                    buffer[position++] = 'u';
+                    buffer[position++] = HEX[c >> 12];
+                    buffer[position++] = HEX[c >> 8 & 0xF];
+                    buffer[position++] = HEX[c >> 4 & 0xF];
+                    buffer[position++] = HEX[c & 0xF];
+                }
+            }
+        }
+
+        private void writeInt(int value) throws IOException {
+
+            if (value < 0) {
+                writeRaw(ascii(Integer.toString(value)));
+                return;
+            }
+
+            int digits = 1;
+            for (int remaining = value; remaining >= 10; remaining /= 10) {
+                digits++;
+            }
+            ensureCapacity(digits);
+            putDigits(value, digits);
+        }
+
+        private void writeDate(LocalDate date) throws IOException {
+
+            if (date == null) {
+                writeRaw(NULL);
+            } else if (date.getYear() < 0 || date.getYear() > 9999) {
+                writeRaw(ascii('"' + date.format(DateTimeFormatter.ISO_LOCAL_DATE) + '"'));
+            } else {
+                ensureCapacity(MAX_TOKEN);
+                buffer[position++] = '"';
+                putDate(date);
+                buffer[position++] = '"';
+            }
+        }
+
+        // Same text as ISO_LOCAL_DATE_TIME: seconds always, fraction only as long as it has significant digits.
+        private void writeDateTime(LocalDateTime dateTime) throws IOException {
+
+            if (dateTime == null) {
+                writeRaw(NULL);
+            } else if (dateTime.getYear() < 0 || dateTime.getYear() > 9999) {
+                writeRaw(ascii('"' + dateTime.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME) + '"'));
+            } else {
+                ensureCapacity(MAX_TOKEN);
+                buffer[position++] = '"';
+                putDate(dateTime.toLocalDate());
+                buffer[position++] = 'T';
+                putDigits(dateTime.getHour(), 2);
+                buffer[position++] = ':';
+                putDigits(dateTime.getMinute(), 2);
+                buffer[position++] = ':';
+                putDigits(dateTime.getSecond(), 2);
+                int nanos = dateTime.getNano();
+                if (nanos > 0) {
+                    int digits = 9;
+                    while (nanos % 10 == 0) {
+                        nanos /= 10;
+                        digits--;
+                    }
+                    buffer[position++] = '.';
+                    putDigits(nanos, digits);
+                }
+                buffer[position++] = '"';
+            }
+        }
+
+        private void putDate(LocalDate date) {
+            putDigits(date.getYear(), 4);
+            buffer[position++] = '-';
+            putDigits(date.getMonthValue(), 2);
+            buffer[position++] = '-';
+            putDigits(date.getDayOfMonth(), 2);
+        }
+
+        private void putDigits(int value, int width) {
+            for (int i = position + width - 1; i >= position; i--) {
+                buffer[i] = (byte) ('0' + value % 10);
+                value /= 10;
+            }
+            position += width;
+        }
+
+        private void ensureCapacity(int length) throws IOException {
+            if (position + length > buffer.length) {
+                stream.write(buffer, 0, position);
+                position = 0;
+            }
+        }
+
+        private void flush() throws IOException {
+            stream.write(buffer, 0, position);
+            position = 0;
+            stream.flush();
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.usermanagement.web.converter;
+
+import com.google.protobuf.CodedOutputStream;
+import com.usermanagement.web.dto.ErrorResponse;
+import com.usermanagement.web.dto.InfoResponse;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.lang.NonNull;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Writes {@link InfoResponse}, lists of them and {@link ErrorResponse} in the protobuf wire format described by
+ * {@code src/main/proto/user.proto}. The messages are small and fixed, so they are encoded by hand instead of
+ * through generated classes.
+ */
+public class InfoResponseProtobufHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    public static final MediaType APPLICATION_PROTOBUF = MediaType.valueOf("application/x-protobuf");
+
+    public InfoResponseProtobufHttpMessageConverter() {
+        super(APPLICATION_PROTOBUF);
+    }
+
+    @Override
+    public boolean canRead(@NonNull Type type, Class<?> contextClass, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(Type type, @NonNull Class<?> clazz, MediaType mediaType) {
+
+        if (!canWrite(mediaType)) {
+            return false;
+        }
+
+        ResolvableType resolvableType = type != null ? ResolvableType.forType(type) : ResolvableType.forClass(clazz);
+        Class<?> resolved = resolvableType.toClass();
+
+        if (List.class.isAssignableFrom(resolved)) {
+            return resolvableType.asCollection().getGeneric().toClass() == InfoResponse.class;
+        }
+
+        return resolved == InfoResponse.class || resolved == ErrorResponse.class;
+    }
+
+    @Override
+    protected boolean supports(@NonNull Class<?> clazz) {
+        return InfoResponse.class == clazz || ErrorResponse.class == clazz || List.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected void writeInternal(@NonNull Object body, Type type, HttpOutputMessage outputMessage) throws IOException {
+
+        CodedOutputStream output = CodedOutputStream.newInstance(outputMessage.getBody());
+
+        if (body instanceof InfoResponse infoResponse) {
+            writeInfoResponse(output, infoResponse);
+        } else if (body instanceof ErrorResponse errorResponse) {
+            writeErrorResponse(output, errorResponse);
+        } else {
+            for (Object element : (List<?>) body) {
+                InfoResponse infoResponse = (InfoResponse) element;
+                output.writeTag(1, 2);
+                output.writeUInt32NoTag(sizeOf(infoResponse));
+                writeInfoResponse(output, infoResponse);
+            }
+        }
+
+        output.flush();
+    }
+
+    @Override
+    @NonNull
+    public Object read(@NonNull Type type, Class<?> contextClass, @NonNull HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Reading protobuf request bodies is not supported.", inputMessage);
+    }
+
+    @Override
+    @NonNull
+    protected Object readInternal(@NonNull Class<?> clazz, @NonNull HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Reading protobuf request bodies is not supported.", inputMessage);
+    }
+
+    private static void writeInfoResponse(CodedOutputStream output, InfoResponse infoResponse) throws IOException {
+
+        writeString(output, 1, infoResponse.getFirstName());
+        writeString(output, 2, infoResponse.getLastName());
+        if (infoResponse.getDateOfBirth() != null) {
+            output.writeInt32(3, (int) infoResponse.getDateOfBirth().toEpochDay());
+        }
+        writeString(output, 4, infoResponse.getPhoneNumber());
+        writeString(output, 5, infoResponse.getEmail());
+        if (infoResponse.getCreatedAt() != null) {
+            output.writeInt64(6, toEpochMilli(infoResponse.getCreatedAt()));
+        }
+    }
+
+    private static int sizeOf(InfoResponse infoResponse) {
+
+        int size = sizeOfString(1, infoResponse.getFirstName())
+                + sizeOfString(2, infoResponse.getLastName())
+                + sizeOfString(4, infoResponse.getPhoneNumber())
+                + sizeOfString(5, infoResponse.getEmail());
+        if (infoResponse.getDateOfBirth() != null) {
+            size += CodedOutputStream.computeInt32Size(3, (int) infoResponse.getDateOfBirth().toEpochDay());
+        }
+        if (infoResponse.getCreatedAt() != null) {
+            size += CodedOutputStream.computeInt64Size(6, toEpochMilli(infoResponse.getCreatedAt()));
+        }
+
+        return size;
+    }
+
+    private static void writeErrorResponse(CodedOutputStream output, ErrorResponse errorResponse) throws IOException {
+
+        output.writeInt32(1, errorResponse.getStatus());
+        writeString(output, 2, errorResponse.getMessage());
+        if (errorResponse.getTimestamp() != null) {
+            output.writeInt64(3, toEpochMilli(errorResponse.getTimestamp()));
+        }
+    }
+
+    private static void writeString(CodedOutputStream output, int field, String value) throws IOException {
+        if (value != null && !value.isEmpty()) {
+            output.writeString(field, value);
+        }
+    }
+
+    private static int sizeOfString(int field, String value) {
+        return value != null && !value.isEmpty() ? CodedOutputStream.computeStringSize(field, value) : 0;
+    }
+
+    private static long toEpochMilli(LocalDateTime dateTime) {
+        return dateTime.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+}
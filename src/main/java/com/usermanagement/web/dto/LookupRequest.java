@@ -0,0 +1,23 @@
+package com.usermanagement.web.dto;
+
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+import java.util.UUID;
+
+@Builder
+@Data
+public class LookupRequest {
+
+    public static final int MAX_KEYS = 500;
+
+    @Size(max = MAX_KEYS, message = "At most " + MAX_KEYS + " emails can be looked up at once")
+    private List<@NotNull @Email(message = "Email must be valid") String> emails;
+
+    @Size(max = MAX_KEYS, message = "At most " + MAX_KEYS + " ids can be looked up at once")
+    private List<@NotNull UUID> ids;
+}
@@ -0,0 +1,23 @@
+package com.usermanagement.web.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Builder
+@Data
+public class StatsResponse {
+
+    private long totalUsers;
+
+    private Map<String, Long> usersByRole;
+
+    private Map<LocalDate, Long> signupsPerDay;
+
+    private Map<String, Long> usersByAge;
+
+    private LocalDateTime reconciledAt;
+}
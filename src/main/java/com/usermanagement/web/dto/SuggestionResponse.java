@@ -0,0 +1,20 @@
+package com.usermanagement.web.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Builder
+@Data
+public class SuggestionResponse {
+
+    private UUID id;
+
+    private String firstName;
+
+    private String lastName;
+
+    private LocalDate dateOfBirth;
+}
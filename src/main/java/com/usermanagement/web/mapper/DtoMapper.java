@@ -1,12 +1,31 @@
 package com.usermanagement.web.mapper;
 
 import com.usermanagement.model.User;
+import com.usermanagement.service.UserStatistics;
+import com.usermanagement.service.UserSuggestIndex;
+import com.usermanagement.shared.exception.UnsupportedFieldException;
 import com.usermanagement.web.dto.InfoResponse;
+import com.usermanagement.web.dto.StatsResponse;
+import com.usermanagement.web.dto.SuggestionResponse;
 import lombok.experimental.UtilityClass;
 
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
 @UtilityClass
 public class DtoMapper {
 
+    private static final Set<String> INFO_RESPONSE_FIELDS = Arrays.stream(InfoResponse.class.getDeclaredFields())
+            .filter(field -> !Modifier.isStatic(field.getModifiers()))
+            .map(Field::getName)
+            .collect(Collectors.toUnmodifiableSet());
+
     public static InfoResponse fromUser(User entity) {
         return InfoResponse.builder()
                 .firstName(entity.getFirstName())
@@ -17,4 +36,49 @@ public class DtoMapper {
                 .createdAt(entity.getCreatedAt())
                 .build();
     }
+
+    public static StatsResponse fromStatistics(UserStatistics.Snapshot snapshot) {
+
+        Map<String, Long> usersByRole = new LinkedHashMap<>();
+        snapshot.usersByRole().forEach((role, count) -> usersByRole.put(role.name(), count));
+
+        return StatsResponse.builder()
+                .totalUsers(snapshot.totalUsers())
+                .usersByRole(usersByRole)
+                .signupsPerDay(snapshot.signupsPerDay())
+                .usersByAge(snapshot.usersByAge())
+                .reconciledAt(snapshot.reconciledAt())
+                .build();
+    }
+
+    public static SuggestionResponse fromSuggestion(UserSuggestIndex.Suggestion suggestion) {
+        return SuggestionResponse.builder()
+                .id(suggestion.id())
+                .firstName(suggestion.firstName())
+                .lastName(suggestion.lastName())
+                .dateOfBirth(suggestion.dateOfBirth())
+                .build();
+    }
+
+    public static List<String> toInfoResponseFields(List<String> fields) {
+
+        List<String> requested = fields.stream()
+                .map(String::trim)
+                .filter(field -> !field.isEmpty())
+                .distinct()
+                .toList();
+
+        if (requested.isEmpty()) {
+            throw new UnsupportedFieldException("At least one field must be requested.");
+        }
+
+        requested.stream()
+                .filter(field -> !INFO_RESPONSE_FIELDS.contains(field))
+                .findFirst()
+                .ifPresent(field -> {
+                    throw new UnsupportedFieldException("Field [%s] is not supported.".formatted(field));
+                });
+
+        return requested;
+    }
 }
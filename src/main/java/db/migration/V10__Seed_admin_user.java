@@ -0,0 +1,82 @@
+package db.migration;
+
+import com.usermanagement.model.User;
+import com.usermanagement.model.UserRole;
+import com.usermanagement.shared.utils.PhoneticKeys;
+import com.usermanagement.shared.utils.UuidV7Generator;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.nio.ByteBuffer;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Creates the default admin account once per database, unless a user already holds its email or phone number.
+ * The hash uses BCrypt's default cost and is replaced with the configured algorithm on the first login.
+ */
+public class V10__Seed_admin_user extends BaseJavaMigration {
+
+    private static final String EMAIL = "admin@gmail.com";
+    private static final String PHONE_NUMBER = "0000000000";
+    private static final String NAME = "admin";
+    private static final LocalDate DATE_OF_BIRTH = LocalDate.of(1990, 3, 29);
+
+    @Override
+    public void migrate(Context context) throws Exception {
+
+        Connection connection = context.getConnection();
+
+        try (PreparedStatement select = connection.prepareStatement(
+                "SELECT COUNT(*) FROM users WHERE email = ? OR phone_number = ?")) {
+            select.setString(1, EMAIL);
+            select.setString(2, PHONE_NUMBER);
+            try (ResultSet rows = select.executeQuery()) {
+                rows.next();
+                if (rows.getLong(1) > 0) {
+                    return;
+                }
+            }
+        }
+
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO users (id, first_name, last_name, date_of_birth, phone_number, email, role, password, "
+                        + "created_at, version, first_name_phonetic, first_name_phonetic_alt, last_name_phonetic, "
+                        + "last_name_phonetic_alt, birth_month_day) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, 0, ?, ?, ?, ?, ?)")) {
+            insert.setBytes(1, toBytes(UuidV7Generator.next()));
+            insert.setString(2, NAME);
+            insert.setString(3, NAME);
+            insert.setObject(4, DATE_OF_BIRTH);
+            insert.setString(5, PHONE_NUMBER);
+            insert.setString(6, EMAIL);
+            insert.setString(7, UserRole.ADMIN.name());
+            insert.setString(8, new BCryptPasswordEncoder().encode("123123"));
+            insert.setTimestamp(9, Timestamp.valueOf(LocalDateTime.now()));
+            insert.setString(10, PhoneticKeys.primary(NAME));
+            insert.setString(11, PhoneticKeys.alternate(NAME));
+            insert.setString(12, PhoneticKeys.primary(NAME));
+            insert.setString(13, PhoneticKeys.alternate(NAME));
+            insert.setInt(14, User.toMonthDay(DATE_OF_BIRTH));
+            insert.executeUpdate();
+        }
+
+        // Counters were bypassed, the next startup rebuilds them from the table.
+        try (PreparedStatement delete = connection.prepareStatement("DELETE FROM user_statistics")) {
+            delete.executeUpdate();
+        }
+    }
+
+    private static byte[] toBytes(UUID id) {
+        return ByteBuffer.allocate(16)
+                .putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits())
+                .array();
+    }
+}
@@ -0,0 +1,56 @@
+package db.migration;
+
+import com.usermanagement.shared.utils.PhoneticKeys;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+
+/**
+ * Fills the phonetic key columns added in V4 for rows written before them. New and updated rows get their
+ * keys from the entity on write.
+ */
+public class V5__Backfill_users_phonetic_keys extends BaseJavaMigration {
+
+    private static final int BATCH_SIZE = 1_000;
+
+    @Override
+    public void migrate(Context context) throws Exception {
+
+        Connection connection = context.getConnection();
+
+        try (PreparedStatement select = connection.prepareStatement(
+                "SELECT id, first_name, last_name FROM users WHERE last_name_phonetic IS NULL");
+             PreparedStatement update = connection.prepareStatement(
+                     "UPDATE users SET first_name_phonetic = ?, first_name_phonetic_alt = ?, "
+                             + "last_name_phonetic = ?, last_name_phonetic_alt = ? WHERE id = ?")) {
+
+            select.setFetchSize(BATCH_SIZE);
+
+            try (ResultSet rows = select.executeQuery()) {
+                int pending = 0;
+                while (rows.next()) {
+                    String firstName = rows.getString("first_name");
+                    String lastName = rows.getString("last_name");
+
+                    update.setString(1, PhoneticKeys.primary(firstName));
+                    update.setString(2, PhoneticKeys.alternate(firstName));
+                    update.setString(3, PhoneticKeys.primary(lastName));
+                    update.setString(4, PhoneticKeys.alternate(lastName));
+                    update.setBytes(5, rows.getBytes("id"));
+                    update.addBatch();
+
+                    if (++pending == BATCH_SIZE) {
+                        update.executeBatch();
+                        pending = 0;
+                    }
+                }
+                if (pending > 0) {
+                    update.executeBatch();
+                }
+            }
+        }
+    }
+}
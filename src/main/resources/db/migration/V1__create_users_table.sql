@@ -0,0 +1,15 @@
+CREATE TABLE IF NOT EXISTS users
+(
+    id            BINARY(16)             NOT NULL,
+    first_name    VARCHAR(255)           NOT NULL,
+    last_name     VARCHAR(255)           NOT NULL,
+    date_of_birth DATE                   NOT NULL,
+    phone_number  VARCHAR(255)           NOT NULL,
+    email         VARCHAR(255)           NOT NULL,
+    role          ENUM ('ADMIN', 'USER') NOT NULL,
+    password      VARCHAR(255)           NOT NULL,
+    created_at    DATETIME(6)            NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_users_email UNIQUE (email),
+    CONSTRAINT uk_users_phone_number UNIQUE (phone_number)
+);
@@ -0,0 +1,5 @@
+-- findAllByOrderByLastNameAscDateOfBirthAsc and the ORDER BY of searchUsers
+CREATE INDEX idx_users_last_name_date_of_birth ON users (last_name, date_of_birth);
+
+-- signups by creation time
+CREATE INDEX idx_users_created_at ON users (created_at);
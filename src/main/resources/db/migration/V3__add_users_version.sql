@@ -0,0 +1,2 @@
+-- Optimistic locking for concurrent updates
+ALTER TABLE users ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,10 @@
+-- Double Metaphone keys for fuzzy name search, filled on write and backfilled by V5
+ALTER TABLE users ADD COLUMN first_name_phonetic VARCHAR(8);
+ALTER TABLE users ADD COLUMN first_name_phonetic_alt VARCHAR(8);
+ALTER TABLE users ADD COLUMN last_name_phonetic VARCHAR(8);
+ALTER TABLE users ADD COLUMN last_name_phonetic_alt VARCHAR(8);
+
+CREATE INDEX idx_users_first_name_phonetic ON users (first_name_phonetic);
+CREATE INDEX idx_users_first_name_phonetic_alt ON users (first_name_phonetic_alt);
+CREATE INDEX idx_users_last_name_phonetic ON users (last_name_phonetic);
+CREATE INDEX idx_users_last_name_phonetic_alt ON users (last_name_phonetic_alt);
@@ -0,0 +1,7 @@
+-- date of birth and age range filters
+CREATE INDEX idx_users_date_of_birth ON users (date_of_birth);
+
+-- upcoming birthdays as a range over MMDD, stable across leap years
+ALTER TABLE users ADD COLUMN birth_month_day INT;
+UPDATE users SET birth_month_day = MONTH(date_of_birth) * 100 + DAY(date_of_birth);
+CREATE INDEX idx_users_birth_month_day ON users (birth_month_day);
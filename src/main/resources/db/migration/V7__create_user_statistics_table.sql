@@ -0,0 +1,7 @@
+-- Snapshot of the in-memory user statistics counters, so they survive a restart without a recount
+CREATE TABLE user_statistics
+(
+    stat_key   VARCHAR(64) NOT NULL PRIMARY KEY,
+    stat_value BIGINT      NOT NULL,
+    updated_at DATETIME(6) NOT NULL
+);
@@ -0,0 +1,12 @@
+-- soft delete, hidden from every entity query by deleted_at IS NULL
+ALTER TABLE users ADD COLUMN deleted_at DATETIME(6);
+
+-- soft deleted users awaiting the purge job, a separate table so no index leading with deleted_at competes
+-- with the list indexes for the deleted_at IS NULL filter
+CREATE TABLE user_deletions
+(
+    user_id    BINARY(16)  NOT NULL,
+    deleted_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (user_id)
+);
+CREATE INDEX idx_user_deletions_deleted_at ON user_deletions (deleted_at, user_id);
@@ -0,0 +1,3 @@
+-- written only by the login tracker's batched updates, never by entity saves
+ALTER TABLE users ADD COLUMN last_login_at DATETIME(6);
+ALTER TABLE users ADD COLUMN login_count BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,190 @@
+package com.usermanagement.benchmark;
+
+import com.usermanagement.Application;
+import com.usermanagement.service.JwtService;
+import com.usermanagement.service.UserDirectorySnapshot;
+import com.usermanagement.shared.generator.SyntheticUserGenerator;
+import com.usermanagement.shared.generator.SyntheticUserProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Throughput in each second after a restart with and without the directory snapshot, for authenticated reads
+ * of many distinct users mixed with logins (one request in ten). The read is a name suggestion, answered from
+ * memory, so the principal lookup is the only database read the snapshot can save. Logins always read the
+ * database, in both modes.
+ * {@code mvn test -Pbenchmark -Dtest=DirectorySnapshotBenchmarkTest}
+ * <p>
+ * Uses H2 unless {@code -Dbenchmark.jdbc.url} (with {@code .username} and {@code .password}) points to MySQL.
+ * H2 in memory has no cold buffer pool, so there the difference is only the cost of a database lookup.
+ * Set {@code -Dbenchmark.users} (default 50,000).
+ */
+@Tag("benchmark")
+class DirectorySnapshotBenchmarkTest {
+
+    private static final int USERS = Integer.getInteger("benchmark.users", 50_000);
+    private static final int CONCURRENCY = 100;
+    private static final int SECONDS = 10;
+    private static final String SNAPSHOT_FILE = "target/benchmark/auth-directory.snapshot";
+    private static final String PASSWORD = "Password123";
+
+    @Test
+    void compareRestartsWithAndWithoutSnapshot() throws Exception {
+
+        List<String> emails;
+        try (ConfigurableApplicationContext context = start(true)) {
+            emails = seed(context);
+            context.getBean(UserDirectorySnapshot.class).write();
+        }
+
+        // Alternated, so neither mode only runs on a JIT warmed up by the other.
+        for (boolean snapshot : new boolean[]{false, true, false, true}) {
+            long start = System.nanoTime();
+            try (ConfigurableApplicationContext context = start(snapshot)) {
+                double startup = (System.nanoTime() - start) / 1e9;
+                measure(context, snapshot, startup, emails);
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext start(boolean snapshot) {
+
+        // Arguments, default properties would lose to the ones of the test profile.
+        List<String> arguments = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--app.concurrency-limit.enabled=false",
+                "--app.directory-snapshot.enabled=" + snapshot,
+                "--app.directory-snapshot.file=" + SNAPSHOT_FILE,
+                "--logging.level.root=WARN"));
+        if (System.getProperty("benchmark.jdbc.url") != null) {
+            arguments.add("--spring.datasource.url=" + System.getProperty("benchmark.jdbc.url"));
+            arguments.add("--spring.datasource.username=" + System.getProperty("benchmark.jdbc.username"));
+            arguments.add("--spring.datasource.password=" + System.getProperty("benchmark.jdbc.password"));
+            arguments.add("--spring.datasource.driverClassName=com.mysql.cj.jdbc.Driver");
+            arguments.add("--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.MySQLDialect");
+        }
+
+        return new SpringApplicationBuilder(Application.class)
+                .profiles("test")
+                .run(arguments.toArray(String[]::new));
+    }
+
+    private static List<String> seed(ConfigurableApplicationContext context) throws Exception {
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        Long existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Long.class);
+        if (existing == null || existing < USERS) {
+            SyntheticUserProperties properties = new SyntheticUserProperties();
+            properties.setUsers(USERS);
+            properties.setPassword(PASSWORD);
+            new SyntheticUserGenerator(jdbcTemplate, context.getBean(PasswordEncoder.class), properties, context)
+                    .generate();
+        }
+
+        return jdbcTemplate.queryForList(
+                "SELECT email FROM users WHERE email LIKE '%@example.com' AND deleted_at IS NULL", String.class);
+    }
+
+    private static void measure(ConfigurableApplicationContext context, boolean snapshot, double startup,
+                                List<String> emails) throws Exception {
+
+        String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        JwtService jwtService = context.getBean(JwtService.class);
+
+        // Signed without a lookup, the signing key only lives as long as the context.
+        String[] tokens = emails.stream()
+                .map(email -> jwtService.generateToken(
+                        new User(email, "", List.of(new SimpleGrantedAuthority("ROLE_USER")))))
+                .toArray(String[]::new);
+
+        AtomicLongArray completed = new AtomicLongArray(SECONDS);
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient httpClient = HttpClient.newBuilder().executor(clients).build()) {
+
+            long start = System.nanoTime();
+            long deadline = start + SECONDS * 1_000_000_000L;
+            List<CompletableFuture<Void>> workers = new ArrayList<>();
+            for (int worker = 0; worker < CONCURRENCY; worker++) {
+                workers.add(CompletableFuture.runAsync(() -> {
+                    while (System.nanoTime() < deadline) {
+                        int index = next.getAndIncrement();
+                        try {
+                            HttpResponse<Void> response = httpClient.send(
+                                    request(baseUrl, index, emails, tokens), HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                        int second = (int) ((System.nanoTime() - start) / 1_000_000_000L);
+                        if (second < SECONDS) {
+                            completed.incrementAndGet(second);
+                        }
+                    }
+                }, clients));
+            }
+            CompletableFuture.allOf(workers.toArray(CompletableFuture[]::new)).join();
+        }
+
+        long[] perSecond = new long[SECONDS];
+        for (int second = 0; second < SECONDS; second++) {
+            perSecond[second] = completed.get(second);
+        }
+        long[] sorted = perSecond.clone();
+        Arrays.sort(sorted);
+        long full = sorted[SECONDS / 2];
+        int toFull = 0;
+        while (toFull < SECONDS && perSecond[toFull] < full * 0.9) {
+            toFull++;
+        }
+
+        MeterRegistry meterRegistry = context.getBean(MeterRegistry.class);
+        double hits = meterRegistry.get("users.directory.snapshot.lookups").tag("result", "hit").counter().count();
+        double misses = meterRegistry.get("users.directory.snapshot.lookups").tag("result", "miss").counter().count();
+
+        System.out.printf("snapshot %-5s startup %5.2f s, req/s per second %s, 90%% of median after %d s, "
+                        + "snapshot hits %,.0f, misses %,.0f, errors %d%n",
+                snapshot, startup, Arrays.toString(perSecond), toFull, hits, misses, errors.get());
+    }
+
+    private static HttpRequest request(String baseUrl, int index, List<String> emails, String[] tokens) {
+
+        int user = Math.floorMod(index * 7919, emails.size());
+        if (index % 10 == 0) {
+            return HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/login"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(
+                            "{\"email\":\"" + emails.get(user) + "\",\"password\":\"" + PASSWORD + "\"}"))
+                    .build();
+        }
+
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/users/suggest?q=an"))
+                .header("Authorization", "Bearer " + tokens[user])
+                .GET()
+                .build();
+    }
+}
@@ -0,0 +1,116 @@
+package com.usermanagement.benchmark;
+
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.usermanagement.web.converter.InfoResponseJsonHttpMessageConverter;
+import com.usermanagement.web.dto.InfoResponse;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.GenericHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Type;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Throughput and heap allocated per user of a {@code GET /api/v1/users} JSON body, Jackson bean serialization
+ * against {@link InfoResponseJsonHttpMessageConverter}. Output goes to a discarding stream, so only the
+ * serializer's own allocations are counted.
+ * {@code mvn test -Pbenchmark -Dtest=JsonWriterBenchmarkTest}
+ */
+@Tag("benchmark")
+class JsonWriterBenchmarkTest {
+
+    private static final int USERS = Integer.getInteger("benchmark.users", 10_000);
+    private static final int WARMUP_ITERATIONS = 300;
+    private static final int MEASURED_ITERATIONS = 500;
+    private static final Type LIST_TYPE = new ParameterizedTypeReference<List<InfoResponse>>() {}.getType();
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Test
+    void compareWriters() throws IOException {
+        List<InfoResponse> users = users();
+
+        measure("Jackson", new MappingJackson2HttpMessageConverter(new Jackson2ObjectMapperBuilder()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build()), users);
+        measure("Writer", new InfoResponseJsonHttpMessageConverter(ObservationRegistry.NOOP), users);
+    }
+
+    private static void measure(String writer,
+                                GenericHttpMessageConverter<Object> converter,
+                                List<InfoResponse> users) throws IOException {
+
+        DiscardingOutputMessage output = new DiscardingOutputMessage();
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            converter.write(users, LIST_TYPE, MediaType.APPLICATION_JSON, output);
+        }
+
+        long allocatedBefore = THREADS.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            converter.write(users, LIST_TYPE, MediaType.APPLICATION_JSON, output);
+        }
+        long nanos = System.nanoTime() - start;
+        long allocated = THREADS.getCurrentThreadAllocatedBytes() - allocatedBefore;
+
+        long usersWritten = (long) users.size() * MEASURED_ITERATIONS;
+        System.out.printf("%-8s %,12.0f users/s %8.1f bytes allocated/user %,8d bytes/payload%n",
+                writer, usersWritten / (nanos / 1e9), (double) allocated / usersWritten,
+                output.bytes / (WARMUP_ITERATIONS + MEASURED_ITERATIONS));
+    }
+
+    private static List<InfoResponse> users() {
+        List<InfoResponse> users = new ArrayList<>(USERS);
+        for (int i = 0; i < USERS; i++) {
+            users.add(InfoResponse.builder()
+                    .firstName("First" + i)
+                    .lastName("Last" + i)
+                    .dateOfBirth(LocalDate.of(1970, 1, 1).plusDays(i))
+                    .phoneNumber("0888" + String.format("%06d", i))
+                    .email("user" + i + "@example.com")
+                    .createdAt(LocalDateTime.of(2026, 1, 1, 0, 0).plusNanos(i * 97_123_456L))
+                    .build());
+        }
+        return users;
+    }
+
+    private static final class DiscardingOutputMessage extends OutputStream implements HttpOutputMessage {
+
+        private final HttpHeaders headers = new HttpHeaders();
+        private long bytes;
+
+        @Override
+        public void write(int b) {
+            bytes++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            bytes += len;
+        }
+
+        @Override
+        public OutputStream getBody() {
+            return this;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+}
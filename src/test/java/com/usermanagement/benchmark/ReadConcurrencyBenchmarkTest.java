@@ -0,0 +1,140 @@
+package com.usermanagement.benchmark;
+
+import com.usermanagement.Application;
+import com.usermanagement.model.User;
+import com.usermanagement.model.UserRole;
+import com.usermanagement.service.JwtService;
+import com.usermanagement.service.UserService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Throughput and latency of the read endpoints under high concurrency, served on platform threads
+ * (Tomcat pool) and on virtual threads.
+ * {@code mvn test -Pbenchmark -Dtest=ReadConcurrencyBenchmarkTest}
+ * <p>
+ * Uses H2 unless {@code -Dbenchmark.jdbc.url} (with {@code .username} and {@code .password}) points to MySQL.
+ */
+@Tag("benchmark")
+class ReadConcurrencyBenchmarkTest {
+
+    private static final int USERS = 1_000;
+    private static final int REQUESTS_PER_LEVEL = 20_000;
+    private static final int[] CONCURRENCY_LEVELS = {50, 200, 1_000};
+
+    @Test
+    void comparePlatformAndVirtualThreads() throws Exception {
+        run(false);
+        run(true);
+    }
+
+    private static void run(boolean virtualThreads) throws Exception {
+
+        List<String> properties = new ArrayList<>(List.of(
+                "server.port=0",
+                "spring.threads.virtual.enabled=" + virtualThreads,
+                "app.concurrency-limit.enabled=false",
+                "logging.level.root=WARN"));
+        if (System.getProperty("benchmark.jdbc.url") != null) {
+            properties.add("spring.datasource.url=" + System.getProperty("benchmark.jdbc.url"));
+            properties.add("spring.datasource.username=" + System.getProperty("benchmark.jdbc.username"));
+            properties.add("spring.datasource.password=" + System.getProperty("benchmark.jdbc.password"));
+            properties.add("spring.datasource.driverClassName=com.mysql.cj.jdbc.Driver");
+            properties.add("spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.MySQLDialect");
+        }
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(Application.class)
+                .profiles("test")
+                .properties(properties.toArray(String[]::new))
+                .run()) {
+
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            String token = seed(context);
+
+            for (int concurrency : CONCURRENCY_LEVELS) {
+                measure(virtualThreads ? "virtual" : "platform", concurrency,
+                        baseUrl + "/api/v1/users/by-email?email=user" + (USERS / 2) + "@example.com", token);
+            }
+        }
+    }
+
+    private static String seed(ConfigurableApplicationContext context) {
+
+        UserService userService = context.getBean(UserService.class);
+        for (int i = 0; i < USERS; i++) {
+            if (!userService.checkIfUserExists("user" + i + "@example.com")) {
+                userService.saveUser(User.builder()
+                        .firstName("First" + i)
+                        .lastName("Last" + i)
+                        .dateOfBirth(LocalDate.of(1970, 1, 1).plusDays(i))
+                        .phoneNumber("0888" + String.format("%06d", i))
+                        .email("user" + i + "@example.com")
+                        .role(UserRole.USER)
+                        .password("password")
+                        .createdAt(LocalDateTime.now())
+                        .build());
+            }
+        }
+
+        return context.getBean(JwtService.class).generateToken(userService.loadUserByUsername("user0@example.com"));
+    }
+
+    private static void measure(String label, int concurrency, String url, String token) throws Exception {
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+        long[] latencies = new long[REQUESTS_PER_LEVEL];
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient httpClient = HttpClient.newBuilder().executor(clients).build()) {
+
+            long start = System.nanoTime();
+            List<CompletableFuture<Void>> workers = new ArrayList<>();
+            for (int worker = 0; worker < concurrency; worker++) {
+                workers.add(CompletableFuture.runAsync(() -> {
+                    int index;
+                    while ((index = next.getAndIncrement()) < REQUESTS_PER_LEVEL) {
+                        long requestStart = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                        latencies[index] = System.nanoTime() - requestStart;
+                    }
+                }, clients));
+            }
+            CompletableFuture.allOf(workers.toArray(CompletableFuture[]::new)).join();
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            Arrays.sort(latencies);
+            System.out.printf("%-8s concurrency %,5d: %,8.0f req/s, p50 %6.2f ms, p99 %7.2f ms, errors %d%n",
+                    label, concurrency, REQUESTS_PER_LEVEL / seconds,
+                    latencies[REQUESTS_PER_LEVEL / 2] / 1e6, latencies[REQUESTS_PER_LEVEL * 99 / 100] / 1e6,
+                    errors.get());
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.usermanagement.benchmark;
+
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.usermanagement.web.converter.InfoResponseProtobufHttpMessageConverter;
+import com.usermanagement.web.dto.InfoResponse;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.GenericHttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Payload size and encode time of a {@code GET /api/v1/users} body in each negotiated format.
+ * {@code mvn test -Pbenchmark -Dtest=ResponseFormatBenchmarkTest}
+ */
+@Tag("benchmark")
+class ResponseFormatBenchmarkTest {
+
+    private static final int USERS = Integer.getInteger("benchmark.users", 10_000);
+    private static final int WARMUP_ITERATIONS = 200;
+    private static final int MEASURED_ITERATIONS = 500;
+    private static final Type LIST_TYPE = new ParameterizedTypeReference<List<InfoResponse>>() {}.getType();
+
+    @Test
+    void compareFormats() throws IOException {
+        List<InfoResponse> users = users();
+
+        measure("JSON", new MappingJackson2HttpMessageConverter(new Jackson2ObjectMapperBuilder()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build()), MediaType.APPLICATION_JSON, users);
+        measure("CBOR", new MappingJackson2CborHttpMessageConverter(new Jackson2ObjectMapperBuilder()
+                .factory(new CBORFactory())
+                .featuresToEnable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build()), MediaType.APPLICATION_CBOR, users);
+        measure("Smile", new MappingJackson2SmileHttpMessageConverter(new Jackson2ObjectMapperBuilder()
+                .factory(new SmileFactory())
+                .featuresToEnable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build()), MediaType.valueOf("application/x-jackson-smile"), users);
+        measure("Protobuf", new InfoResponseProtobufHttpMessageConverter(),
+                InfoResponseProtobufHttpMessageConverter.APPLICATION_PROTOBUF, users);
+    }
+
+    private static void measure(String format,
+                                GenericHttpMessageConverter<Object> converter,
+                                MediaType mediaType,
+                                List<InfoResponse> users) throws IOException {
+
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            encode(converter, mediaType, users);
+        }
+
+        long start = System.nanoTime();
+        int bytes = 0;
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            bytes = encode(converter, mediaType, users);
+        }
+        double millisPerPayload = (System.nanoTime() - start) / 1e6 / MEASURED_ITERATIONS;
+
+        System.out.printf("%-9s %,10d bytes (%,6.1f bytes/user) %8.3f ms per %,d users%n",
+                format, bytes, (double) bytes / users.size(), millisPerPayload, users.size());
+    }
+
+    private static int encode(GenericHttpMessageConverter<Object> converter,
+                              MediaType mediaType,
+                              List<InfoResponse> users) throws IOException {
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+        converter.write(users, LIST_TYPE, mediaType, output);
+        return output.getBodyAsBytes().length;
+    }
+
+    private static List<InfoResponse> users() {
+        List<InfoResponse> users = new ArrayList<>(USERS);
+        for (int i = 0; i < USERS; i++) {
+            users.add(InfoResponse.builder()
+                    .firstName("First" + i)
+                    .lastName("Last" + i)
+                    .dateOfBirth(LocalDate.of(1970, 1, 1).plusDays(i))
+                    .phoneNumber("0888" + String.format("%06d", i))
+                    .email("user" + i + "@example.com")
+                    .createdAt(LocalDateTime.of(2026, 1, 1, 0, 0).plusSeconds(i * 97L))
+                    .build());
+        }
+        return users;
+    }
+}
@@ -0,0 +1,89 @@
+package com.usermanagement.benchmark;
+
+import com.usermanagement.model.User;
+import com.usermanagement.repository.UserRepository;
+import com.usermanagement.service.UserChangedEvent;
+import com.usermanagement.service.UserSuggestIndex;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.LocalDate;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Build time, heap footprint and query latency of the name suggestion index.
+ * {@code mvn test -Pbenchmark -Dtest=SuggestIndexBenchmarkTest -Dbenchmark.users=1000000}
+ */
+@Tag("benchmark")
+class SuggestIndexBenchmarkTest {
+
+    private static final int USERS = Integer.getInteger("benchmark.users", 200_000);
+    private static final int QUERIES = 2_000;
+    private static final String[] SYLLABLES = {"an", "be", "ka", "lo", "mi", "ra", "so", "ti", "vel", "dor", "jan", "ek"};
+
+    @Test
+    void measureSuggestions() {
+        Random random = new Random(42);
+        UserSuggestIndex index = new UserSuggestIndex(Mockito.mock(UserRepository.class));
+
+        long heapBefore = usedHeap();
+        long start = System.nanoTime();
+        for (int i = 0; i < USERS; i++) {
+            User user = User.builder()
+                    .id(UUID.randomUUID())
+                    .firstName(name(random))
+                    .lastName(name(random))
+                    .dateOfBirth(LocalDate.of(1950 + random.nextInt(50), 1 + random.nextInt(12), 1 + random.nextInt(28)))
+                    .build();
+            index.onUserChanged(new UserChangedEvent(UserChangedEvent.Type.CREATED, user));
+        }
+        double buildSeconds = (System.nanoTime() - start) / 1e9;
+        long heapBytes = usedHeap() - heapBefore;
+
+        System.out.printf("Indexed %,d users in %.2f s, ~%,d bytes/user%n", USERS, buildSeconds, heapBytes / USERS);
+
+        for (int prefixLength = 2; prefixLength <= 5; prefixLength++) {
+            measure(index, random, prefixLength);
+        }
+    }
+
+    private static void measure(UserSuggestIndex index, Random random, int prefixLength) {
+
+        String[] queries = new String[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            queries[i] = name(random).substring(0, prefixLength);
+        }
+
+        for (String query : queries) {
+            index.suggest(query, 10);
+        }
+
+        long start = System.nanoTime();
+        long results = 0;
+        for (String query : queries) {
+            results += index.suggest(query, 10).size();
+        }
+        double micros = (System.nanoTime() - start) / 1e3 / QUERIES;
+
+        System.out.printf("prefix length %d: %,10.1f us/query, %.1f results/query%n",
+                prefixLength, micros, (double) results / QUERIES);
+    }
+
+    private static String name(Random random) {
+        StringBuilder name = new StringBuilder();
+        int syllables = 3 + random.nextInt(2);
+        for (int i = 0; i < syllables; i++) {
+            name.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+        }
+        name.setCharAt(0, Character.toUpperCase(name.charAt(0)));
+        return name.toString();
+    }
+
+    private static long usedHeap() {
+        System.gc();
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,90 @@
+package com.usermanagement.benchmark;
+
+import com.usermanagement.shared.utils.UuidV7Generator;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Insert throughput of random (v4) against time-ordered (v7) primary keys in a BINARY(16) clustered index.
+ * <p>
+ * Runs against a file based H2 database unless {@code -Dbenchmark.jdbc.url} (with {@code .username} and
+ * {@code .password}) points to a MySQL instance, which is where the InnoDB page split effect is measured.
+ * {@code mvn test -Pbenchmark -Dtest=UuidInsertBenchmarkTest -Dbenchmark.rows=10000000}
+ */
+@Tag("benchmark")
+class UuidInsertBenchmarkTest {
+
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 10_000_000);
+    private static final int BATCH_SIZE = 1_000;
+    private static final int REPORT_EVERY = 1_000_000;
+
+    private static final String URL = System.getProperty("benchmark.jdbc.url",
+            "jdbc:h2:file:./target/benchmark/uuid-insert;MODE=MySQL");
+    private static final String USERNAME = System.getProperty("benchmark.jdbc.username", "sa");
+    private static final String PASSWORD = System.getProperty("benchmark.jdbc.password", "");
+
+    @Test
+    void compareRandomAndTimeOrderedKeys() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(URL, USERNAME, PASSWORD)) {
+            connection.setAutoCommit(false);
+
+            run(connection, "uuid_v4_benchmark", UUID::randomUUID);
+            run(connection, "uuid_v7_benchmark", UuidV7Generator::next);
+        }
+    }
+
+    private static void run(Connection connection, String table, Supplier<UUID> ids) throws SQLException {
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS " + table);
+            statement.execute("CREATE TABLE " + table
+                    + " (id BINARY(16) NOT NULL PRIMARY KEY, payload VARCHAR(255) NOT NULL)");
+        }
+        connection.commit();
+
+        String payload = "x".repeat(200);
+        long start = System.nanoTime();
+        long segmentStart = start;
+
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO " + table + " (id, payload) VALUES (?, ?)")) {
+            for (int row = 1; row <= ROWS; row++) {
+                insert.setBytes(1, toBytes(ids.get()));
+                insert.setString(2, payload);
+                insert.addBatch();
+
+                if (row % BATCH_SIZE == 0) {
+                    insert.executeBatch();
+                    connection.commit();
+                }
+                if (row % REPORT_EVERY == 0) {
+                    long now = System.nanoTime();
+                    System.out.printf("%s: rows %,d, %,.0f rows/s in last segment%n",
+                            table, row, REPORT_EVERY / ((now - segmentStart) / 1e9));
+                    segmentStart = now;
+                }
+            }
+            insert.executeBatch();
+            connection.commit();
+        }
+
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%s: %,d rows in %.1f s, %,.0f rows/s%n", table, ROWS, seconds, ROWS / seconds);
+    }
+
+    private static byte[] toBytes(UUID uuid) {
+        return ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+}
@@ -0,0 +1,196 @@
+package com.usermanagement.repository;
+
+import com.usermanagement.model.User;
+import com.usermanagement.shared.generator.SyntheticUserGenerator;
+import com.usermanagement.shared.generator.SyntheticUserProperties;
+import com.usermanagement.support.SqlStatementRecorder;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs MySQL's EXPLAIN for the SQL generated by each {@link UserRepository} lookup and fails when a table is
+ * read by a full table or full index scan. The plans are MySQL's, so the test runs against a MySQL container
+ * and is skipped where Docker is not available. The table is filled with synthetic users and analyzed first,
+ * because on a near-empty table the optimizer prefers a scan over any index.
+ * <p>
+ * Not covered, because no index can turn them into seeks: {@code searchUsers} and the listing with a search
+ * term match a substring anywhere in the names, which a B-tree cannot answer. Prefix and typo-tolerant
+ * searches go through the suggest and phonetic indexes instead. The unfiltered listing, the streams and the
+ * statistics aggregates read every row by design.
+ */
+@DataJpaTest
+@Testcontainers(disabledWithoutDocker = true)
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.MySQLDialect")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class UserRepositoryQueryPlanTest {
+
+    private static final int USERS = 20_000;
+
+    @Container
+    @ServiceConnection
+    static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.4");
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    private User user;
+
+    @BeforeAll
+    void seed() throws Exception {
+        SyntheticUserProperties properties = new SyntheticUserProperties();
+        properties.setUsers(USERS);
+        properties.setProducers(2);
+        new SyntheticUserGenerator(jdbcTemplate, new BCryptPasswordEncoder(4), properties, applicationContext)
+                .generate();
+        jdbcTemplate.execute("ANALYZE TABLE users");
+    }
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.findByEmail(jdbcTemplate.queryForObject(
+                "SELECT email FROM users WHERE email LIKE '%.1000@example.com'", String.class)).orElseThrow();
+        SqlStatementRecorder.reset();
+    }
+
+    @Test
+    void findByIdSeeksPrimaryKey() {
+        userRepository.findById(user.getId());
+
+        assertSeeks(explainLastQuery(toBytes(user)));
+    }
+
+    @Test
+    void findByEmailSeeksIndex() {
+        userRepository.findByEmail(user.getEmail());
+
+        assertSeeks(explainLastQuery(user.getEmail()));
+    }
+
+    @Test
+    void findByPhoneNumberSeeksIndex() {
+        userRepository.findByPhoneNumber(user.getPhoneNumber());
+
+        assertSeeks(explainLastQuery(user.getPhoneNumber()));
+    }
+
+    @Test
+    void findAllByEmailInSeeksIndex() {
+        String other = jdbcTemplate.queryForObject(
+                "SELECT email FROM users WHERE email LIKE '%.2000@example.com'", String.class);
+
+        assertThat(userRepository.findAllByEmailIn(List.of(user.getEmail(), other))).hasSize(2);
+        assertSeeks(explainLastQuery(user.getEmail(), other));
+    }
+
+    @Test
+    void countsIncludingDeletedSeekIndexes() {
+        assertThat(userRepository.countByEmailIncludingDeleted(user.getEmail())).isEqualTo(1);
+        assertSeeks(explainLastQuery(user.getEmail()));
+
+        assertThat(userRepository.countByPhoneNumberIncludingDeleted(user.getPhoneNumber())).isEqualTo(1);
+        assertSeeks(explainLastQuery(user.getPhoneNumber()));
+    }
+
+    @Test
+    void findAllByDateOfBirthBetweenSeeksIndex() {
+        LocalDate from = user.getDateOfBirth().minusDays(3);
+        LocalDate to = user.getDateOfBirth().plusDays(3);
+
+        assertThat(userRepository.findAllByDateOfBirthBetweenOrderByLastNameAscDateOfBirthAsc(from, to))
+                .extracting(User::getId).contains(user.getId());
+        assertSeeks(explainLastQuery(from, to));
+    }
+
+    @Test
+    void findAllProjectedWithDateOfBirthRangeSelectsOnlyRequestedColumnsAndSeeksIndex() {
+        LocalDate from = user.getDateOfBirth().minusDays(3);
+        LocalDate to = user.getDateOfBirth().plusDays(3);
+
+        List<Map<String, Object>> rows = userRepository.findAllProjected(List.of("email", "lastName"), null,
+                new DateOfBirthRange(from, to));
+
+        assertThat(rows).contains(Map.of("email", user.getEmail(), "lastName", user.getLastName()));
+        assertThat(SqlStatementRecorder.statements().getLast())
+                .contains("email", "last_name")
+                .doesNotContain("first_name", "password", "phone_number");
+        assertSeeks(explainLastQuery(from, to));
+    }
+
+    @Test
+    void findAllByBirthMonthDayBetweenSeeksIndex() {
+        int from = user.getBirthMonthDay();
+        int to = from + 2;
+
+        assertThat(userRepository.findAllByBirthMonthDayBetweenOrderByBirthMonthDayAscLastNameAsc(from, to))
+                .extracting(User::getId).contains(user.getId());
+        assertSeeks(explainLastQuery(from, to));
+    }
+
+    @Test
+    void findAllByPhoneticKeysSeeksEachKeyIndex() {
+        String key = user.getLastNamePhonetic();
+
+        assertThat(userRepository.findAllByPhoneticKeys(List.of(key), USERS))
+                .extracting(User::getId).contains(user.getId());
+        List<Map<String, Object>> plan = explainLastQuery(key, USERS, key, USERS, key, USERS, key, USERS);
+        assertSeeks(plan);
+        assertThat(plan).extracting(row -> row.get("key")).contains(
+                "idx_users_first_name_phonetic", "idx_users_first_name_phonetic_alt",
+                "idx_users_last_name_phonetic", "idx_users_last_name_phonetic_alt");
+    }
+
+    private List<Map<String, Object>> explainLastQuery(Object... parameters) {
+        List<String> statements = SqlStatementRecorder.statements();
+        assertThat(statements).isNotEmpty();
+
+        return jdbcTemplate.queryForList("EXPLAIN " + statements.getLast(), parameters);
+    }
+
+    // Every table access uses an index to find its rows. The UNION RESULT step only reads the temporary table.
+    private static void assertSeeks(List<Map<String, Object>> plan) {
+        assertThat(plan).isNotEmpty();
+        assertThat(plan)
+                .filteredOn(row -> !"UNION RESULT".equals(row.get("select_type")))
+                .allSatisfy(row -> {
+                    assertThat(row.get("type")).as("access type in %s", row).isNotIn("ALL", "index");
+                    assertThat(row.get("key")).as("index in %s", row).isNotNull();
+                });
+    }
+
+    private static byte[] toBytes(User user) {
+        return ByteBuffer.allocate(16)
+                .putLong(user.getId().getMostSignificantBits())
+                .putLong(user.getId().getLeastSignificantBits())
+                .array();
+    }
+}
@@ -0,0 +1,106 @@
+package com.usermanagement.service;
+
+import com.usermanagement.model.User;
+import com.usermanagement.model.UserRole;
+import com.usermanagement.shared.config.PasswordConfig;
+import com.usermanagement.shared.config.PasswordHashingProperties;
+import com.usermanagement.shared.exception.InvalidCredentialsException;
+import com.usermanagement.web.dto.LoginRequest;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AuthenticationServiceUTest {
+
+    private static final String PASSWORD = "Password123";
+
+    @Mock
+    private UserService userService;
+    @Mock
+    private JwtService jwtService;
+    @Mock
+    private LoginTracker loginTracker;
+
+    private PasswordEncoder passwordEncoder;
+    private AuthenticationService authenticationService;
+
+    @BeforeEach
+    void setUp() {
+        PasswordHashingProperties properties = new PasswordHashingProperties();
+        properties.setAlgorithm("argon2");
+        properties.setTargetLatency(Duration.ofMillis(1));
+        passwordEncoder = new PasswordConfig().passwordEncoder(properties, ObservationRegistry.NOOP);
+        authenticationService = new AuthenticationService(userService, passwordEncoder, jwtService, loginTracker);
+    }
+
+    @Test
+    void loginRejectsAWrongPassword() {
+        User user = user(passwordEncoder.encode(PASSWORD));
+        when(userService.getUserByEmail(user.getEmail())).thenReturn(user);
+
+        assertThatThrownBy(() -> authenticationService.login(login(user, "WrongPassword1")))
+                .isInstanceOf(InvalidCredentialsException.class);
+        verify(jwtService, never()).generateToken(any());
+        verify(loginTracker, never()).record(any());
+    }
+
+    @Test
+    void loginKeepsACurrentHash() {
+        User user = user(passwordEncoder.encode(PASSWORD));
+        when(userService.getUserByEmail(user.getEmail())).thenReturn(user);
+        when(userService.loadUserByUsername(user.getEmail())).thenReturn(mock(UserDetails.class));
+        when(jwtService.generateToken(any())).thenReturn("token");
+
+        assertThat(authenticationService.login(login(user, PASSWORD)).getToken()).isEqualTo("token");
+        verify(userService, never()).upgradePasswordHash(any(), any(), any(), any());
+        verify(loginTracker).record(user.getId());
+    }
+
+    @Test
+    void loginUpgradesAHashWithoutAlgorithmPrefix() {
+        User user = user(new BCryptPasswordEncoder(4).encode(PASSWORD));
+        when(userService.getUserByEmail(user.getEmail())).thenReturn(user);
+        when(userService.loadUserByUsername(user.getEmail())).thenReturn(mock(UserDetails.class));
+
+        authenticationService.login(login(user, PASSWORD));
+
+        ArgumentCaptor<String> upgraded = ArgumentCaptor.forClass(String.class);
+        verify(userService).upgradePasswordHash(eq(user.getId()), eq(user.getEmail()), eq(user.getPassword()),
+                upgraded.capture());
+        assertThat(upgraded.getValue()).startsWith("{argon2}");
+        assertThat(passwordEncoder.matches(PASSWORD, upgraded.getValue())).isTrue();
+    }
+
+    private static User user(String password) {
+        return User.builder()
+                .id(UUID.randomUUID())
+                .email("login@example.com")
+                .role(UserRole.USER)
+                .password(password)
+                .build();
+    }
+
+    private static LoginRequest login(User user, String password) {
+        return LoginRequest.builder().email(user.getEmail()).password(password).build();
+    }
+}
@@ -0,0 +1,107 @@
+package com.usermanagement.service;
+
+import com.usermanagement.shared.config.JwtSigningProperties;
+import com.usermanagement.shared.security.JwtKeyStore;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtServiceUTest {
+
+    private final UserDetails userDetails = User.withUsername("john.doe@example.com")
+            .password("password")
+            .roles("USER")
+            .build();
+
+    @Test
+    void shouldIssueTokenThatVerifiesWithActiveKey() throws Exception {
+        JwtService jwtService = jwtService(properties("2026-10", key("2026-10", generateKeyPair(), true)));
+
+        String token = jwtService.generateToken(userDetails);
+
+        assertThat(jwtService.extractUserName(token)).isEqualTo("john.doe@example.com");
+        assertThat(jwtService.isTokenValid(token, userDetails)).isTrue();
+    }
+
+    @Test
+    void shouldVerifyTokenSignedWithRetiredKeyAfterRotation() throws Exception {
+        KeyPair oldKeyPair = generateKeyPair();
+        JwtService beforeRotation = jwtService(properties("2026-09", key("2026-09", oldKeyPair, true)));
+        String token = beforeRotation.generateToken(userDetails);
+
+        JwtService afterRotation = jwtService(properties("2026-10",
+                key("2026-09", oldKeyPair, false),
+                key("2026-10", generateKeyPair(), true)));
+
+        assertThat(afterRotation.isTokenValid(token, userDetails)).isTrue();
+    }
+
+    @Test
+    void shouldRejectTokenSignedWithUnknownKey() throws Exception {
+        String token = jwtService(properties("other", key("other", generateKeyPair(), true)))
+                .generateToken(userDetails);
+
+        JwtService jwtService = jwtService(properties("2026-10", key("2026-10", generateKeyPair(), true)));
+
+        assertThatThrownBy(() -> jwtService.extractUserName(token))
+                .isInstanceOf(SignatureException.class);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldPublishEveryVerificationKeyInJwks() throws Exception {
+        JwtKeyStore keyStore = new JwtKeyStore(properties("2026-10",
+                key("2026-09", generateKeyPair(), false),
+                key("2026-10", generateKeyPair(), true)));
+
+        List<Map<String, Object>> keys = (List<Map<String, Object>>) keyStore.getJwks().get("keys");
+
+        assertThat(keys).extracting(jwk -> jwk.get("kid")).containsExactly("2026-09", "2026-10");
+        assertThat(keys).allSatisfy(jwk -> {
+            assertThat(jwk).containsEntry("kty", "EC").containsEntry("alg", "ES256");
+            assertThat(Base64.getUrlDecoder().decode((String) jwk.get("x"))).hasSize(32);
+            assertThat(Base64.getUrlDecoder().decode((String) jwk.get("y"))).hasSize(32);
+        });
+    }
+
+    private static JwtService jwtService(JwtSigningProperties properties) {
+        JwtService jwtService = new JwtService(new JwtKeyStore(properties));
+        ReflectionTestUtils.setField(jwtService, "jwtExpirationMs", 3600000L);
+        return jwtService;
+    }
+
+    private static JwtSigningProperties properties(String activeKeyId, JwtSigningProperties.Key... keys) {
+        JwtSigningProperties properties = new JwtSigningProperties();
+        properties.setActiveKeyId(activeKeyId);
+        properties.setKeys(List.of(keys));
+        return properties;
+    }
+
+    private static JwtSigningProperties.Key key(String id, KeyPair keyPair, boolean withPrivateKey) {
+        JwtSigningProperties.Key key = new JwtSigningProperties.Key();
+        key.setId(id);
+        key.setPublicKey(Base64.getEncoder().encodeToString(keyPair.getPublic().getEncoded()));
+        if (withPrivateKey) {
+            key.setPrivateKey(Base64.getEncoder().encodeToString(keyPair.getPrivate().getEncoded()));
+        }
+        return key;
+    }
+
+    private static KeyPair generateKeyPair() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(new ECGenParameterSpec("secp256r1"));
+        return generator.generateKeyPair();
+    }
+}
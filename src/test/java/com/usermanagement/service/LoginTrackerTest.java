@@ -0,0 +1,191 @@
+package com.usermanagement.service;
+
+import com.usermanagement.model.User;
+import com.usermanagement.model.UserRole;
+import com.usermanagement.repository.UserRepository;
+import com.usermanagement.shared.config.LastLoginProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.*;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.when;
+
+// Not transactional, the tracker writes on its own connections.
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class LoginTrackerTest {
+
+    private static final Instant NOW = Instant.parse("2030-01-01T12:00:00Z");
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final Clock clock = mock(Clock.class);
+    private final LastLoginProperties properties = new LastLoginProperties();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() {
+        when(clock.getZone()).thenReturn(ZoneOffset.UTC);
+        when(clock.instant()).thenReturn(NOW);
+        properties.setBatchSize(2);
+    }
+
+    // The users are committed, keep them out of tests that count rows.
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM users WHERE first_name = 'Login' AND last_name = 'Tracked'");
+    }
+
+    @Test
+    void loginsAreCoalescedPerUserAndWrittenOnFlush() {
+        LoginTracker loginTracker =
+                new LoginTracker(jdbcTemplate, transactionManager, properties, clock, meterRegistry);
+        User frequent = persist();
+        User once = persist();
+        User other = persist();
+
+        when(clock.instant()).thenReturn(NOW, NOW.plusSeconds(30), NOW.plusSeconds(10));
+        loginTracker.record(frequent.getId());
+        loginTracker.record(frequent.getId());
+        loginTracker.record(frequent.getId());
+        when(clock.instant()).thenReturn(NOW);
+        loginTracker.record(once.getId());
+        loginTracker.record(other.getId());
+
+        assertThat(loginCount(frequent)).isZero();
+        assertThat(meterRegistry.get("users.last.login.buffered").gauge().value()).isEqualTo(3);
+
+        assertThat(loginTracker.flush()).isEqualTo(3);
+
+        assertThat(loginCount(frequent)).isEqualTo(3);
+        assertThat(lastLoginAt(frequent)).isEqualTo(at(NOW.plusSeconds(30)));
+        assertThat(loginCount(once)).isEqualTo(1);
+        assertThat(lastLoginAt(once)).isEqualTo(at(NOW));
+        assertThat(meterRegistry.get("users.last.login.buffered").gauge().value()).isZero();
+        assertThat(meterRegistry.get("users.last.login.write.lag").timer().count()).isEqualTo(3);
+        assertThat(loginTracker.flush()).isZero();
+
+        // A login buffered on another node with an older timestamp only adds to the count.
+        loginTracker.record(frequent.getId());
+        loginTracker.flush();
+
+        assertThat(loginCount(frequent)).isEqualTo(4);
+        assertThat(lastLoginAt(frequent)).isEqualTo(at(NOW.plusSeconds(30)));
+    }
+
+    @Test
+    void reachingTheThresholdFlushesInTheBackground() throws InterruptedException {
+        properties.setFlushThreshold(2);
+        LoginTracker loginTracker =
+                new LoginTracker(jdbcTemplate, transactionManager, properties, clock, meterRegistry);
+        User first = persist();
+        User second = persist();
+
+        loginTracker.record(first.getId());
+        assertThat(loginCount(first)).isZero();
+        loginTracker.record(second.getId());
+
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (loginCount(second) == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(loginCount(first)).isEqualTo(1);
+        assertThat(loginCount(second)).isEqualTo(1);
+    }
+
+    @Test
+    void failedWritesAreKeptForTheNextFlush() {
+        JdbcTemplate failingOnce = spy(jdbcTemplate);
+        doThrow(new DataAccessResourceFailureException("Connection refused"))
+                .doCallRealMethod()
+                .when(failingOnce).batchUpdate(anyString(), anyCollection(), anyInt(), any());
+        LoginTracker loginTracker =
+                new LoginTracker(failingOnce, transactionManager, properties, clock, meterRegistry);
+        User user = persist();
+
+        loginTracker.record(user.getId());
+        assertThat(loginTracker.flush()).isZero();
+        assertThat(loginCount(user)).isZero();
+
+        loginTracker.record(user.getId());
+        assertThat(loginTracker.flush()).isEqualTo(1);
+        assertThat(loginCount(user)).isEqualTo(2);
+    }
+
+    @Test
+    void batchesFailingPartwayAreRolledBackBeforeTheyAreRetried() {
+        JdbcTemplate failingAfterWriting = spy(jdbcTemplate);
+        doAnswer(invocation -> {
+            invocation.callRealMethod();
+            throw new DataAccessResourceFailureException("Connection reset");
+        })
+                .doCallRealMethod()
+                .when(failingAfterWriting).batchUpdate(anyString(), anyCollection(), anyInt(), any());
+        LoginTracker loginTracker =
+                new LoginTracker(failingAfterWriting, transactionManager, properties, clock, meterRegistry);
+        User user = persist();
+
+        loginTracker.record(user.getId());
+        assertThat(loginTracker.flush()).isZero();
+        assertThat(loginCount(user)).isZero();
+
+        assertThat(loginTracker.flush()).isEqualTo(1);
+        assertThat(loginCount(user)).isEqualTo(1);
+    }
+
+    private long loginCount(User user) {
+        return userRepository.findById(user.getId()).orElseThrow().getLoginCount();
+    }
+
+    private LocalDateTime lastLoginAt(User user) {
+        return userRepository.findById(user.getId()).orElseThrow().getLastLoginAt();
+    }
+
+    private static LocalDateTime at(Instant instant) {
+        return LocalDateTime.ofInstant(instant, ZoneOffset.UTC);
+    }
+
+    private User persist() {
+        String unique = UUID.randomUUID().toString().replace("-", "").substring(0, 10);
+        return userRepository.save(User.builder()
+                .firstName("Login")
+                .lastName("Tracked")
+                .dateOfBirth(LocalDate.of(1990, 1, 1))
+                .phoneNumber("08" + unique)
+                .email(unique + "@example.com")
+                .role(UserRole.USER)
+                .password("password")
+                .createdAt(LocalDateTime.now())
+                .build());
+    }
+}
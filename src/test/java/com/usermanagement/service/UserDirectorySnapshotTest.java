@@ -0,0 +1,195 @@
+package com.usermanagement.service;
+
+import com.usermanagement.model.User;
+import com.usermanagement.model.UserRole;
+import com.usermanagement.repository.UserRepository;
+import com.usermanagement.shared.config.DirectorySnapshotProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+// Not transactional, the snapshot reads committed users in its own transactions.
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UserDirectorySnapshotTest {
+
+    private static final Instant NOW = Instant.parse("2030-01-01T12:00:00Z");
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    private Path directory;
+
+    private final Clock clock = mock(Clock.class);
+    private final DirectorySnapshotProperties properties = new DirectorySnapshotProperties();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() {
+        when(clock.instant()).thenReturn(NOW);
+        properties.setFile(directory.resolve("auth-directory.snapshot").toString());
+    }
+
+    // The users are committed, keep them out of tests that count rows.
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM users WHERE first_name = 'Directory' AND last_name = 'Snapshot'");
+    }
+
+    @Test
+    void mappedSnapshotAnswersLookupsWithoutTheDatabase() {
+        User admin = persist("Admin.", UserRole.ADMIN);
+        User user = persist("user.", UserRole.USER);
+        assertThat(snapshot(userRepository).write()).isGreaterThanOrEqualTo(2);
+
+        UserRepository unused = mock(UserRepository.class);
+        UserDirectorySnapshot snapshot = snapshot(unused);
+        snapshot.open();
+
+        UserDirectorySnapshot.Entry entry = snapshot.find(admin.getEmail().toLowerCase()).orElseThrow();
+        assertThat(entry).isEqualTo(new UserDirectorySnapshot.Entry(
+                admin.getId(), admin.getEmail(), UserRole.ADMIN, admin.getPassword()));
+        assertThat(snapshot.find(user.getEmail()).orElseThrow().id()).isEqualTo(user.getId());
+        assertThat(snapshot.find("unknown@example.com")).isEmpty();
+
+        verifyNoInteractions(unused);
+        assertThat(meterRegistry.get("users.directory.snapshot.lookups").tag("result", "hit").counter().count())
+                .isEqualTo(2);
+        assertThat(meterRegistry.get("users.directory.snapshot.lookups").tag("result", "miss").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void staleSnapshotsAreNotServed() {
+        User user = persist("stale.", UserRole.USER);
+        snapshot(userRepository).write();
+
+        when(clock.instant()).thenReturn(NOW.plus(properties.getMaxStaleness()).plusSeconds(1));
+        UserDirectorySnapshot tooOld = snapshot(userRepository);
+        tooOld.open();
+        assertThat(tooOld.find(user.getEmail())).isEmpty();
+
+        when(clock.instant()).thenReturn(NOW.plusSeconds(60));
+        UserDirectorySnapshot fresh = snapshot(userRepository);
+        fresh.open();
+        assertThat(fresh.find(user.getEmail())).isPresent();
+
+        // Never reconciled, so it is released once it has aged past the bound.
+        when(clock.instant()).thenReturn(NOW.plus(properties.getMaxStaleness()).plusSeconds(1));
+        assertThat(fresh.find(user.getEmail())).isEmpty();
+        when(clock.instant()).thenReturn(NOW.plusSeconds(60));
+        assertThat(fresh.find(user.getEmail())).isEmpty();
+    }
+
+    @Test
+    void reconcilingSkipsUsersChangedSinceTheSnapshot() {
+        User changed = persist("changed.", UserRole.USER);
+        User removed = persist("removed.", UserRole.USER);
+        User unchanged = persist("unchanged.", UserRole.USER);
+        snapshot(userRepository).write();
+
+        changed.setPassword("rotated");
+        userRepository.save(changed);
+        jdbcTemplate.update("UPDATE users SET deleted_at = ? WHERE email = ?",
+                LocalDateTime.of(2030, 1, 1, 12, 1), removed.getEmail());
+
+        UserDirectorySnapshot snapshot = snapshot(userRepository);
+        snapshot.open();
+        assertThat(snapshot.find(changed.getEmail())).isPresent();
+
+        Duration verifiedAfter = Duration.ofMinutes(8);
+        when(clock.instant()).thenReturn(NOW.plus(verifiedAfter));
+        assertThat(snapshot.reconcile()).isEqualTo(2);
+
+        assertThat(snapshot.find(changed.getEmail())).isEmpty();
+        assertThat(snapshot.find(removed.getEmail())).isEmpty();
+        assertThat(snapshot.find(unchanged.getEmail())).isPresent();
+
+        // Staleness now counts from the reconciliation.
+        when(clock.instant()).thenReturn(NOW.plus(verifiedAfter).plus(properties.getMaxStaleness()));
+        assertThat(snapshot.find(unchanged.getEmail())).isPresent();
+    }
+
+    @Test
+    void usersChangedOnThisNodeSkipTheSnapshot() {
+        User user = persist("local.", UserRole.USER);
+        User upgraded = persist("upgraded.", UserRole.USER);
+        snapshot(userRepository).write();
+        UserDirectorySnapshot snapshot = snapshot(userRepository);
+        snapshot.open();
+
+        User previous = User.builder().email(user.getEmail()).build();
+        User updated = User.builder().email("renamed." + user.getEmail()).build();
+        snapshot.onUserChanged(new UserChangedEvent(UserChangedEvent.Type.UPDATED, updated, previous));
+
+        assertThat(snapshot.find(user.getEmail())).isEmpty();
+
+        assertThat(snapshot.find(upgraded.getEmail())).isPresent();
+        snapshot.invalidate(upgraded.getEmail().toUpperCase());
+        assertThat(snapshot.find(upgraded.getEmail())).isEmpty();
+    }
+
+    @Test
+    void disabledSnapshotIsNeitherWrittenNorMapped() {
+        UserDirectorySnapshot enabled = snapshot(userRepository);
+        persist("disabled.", UserRole.USER);
+        enabled.write();
+
+        properties.setEnabled(false);
+        UserDirectorySnapshot disabled = snapshot(userRepository);
+        disabled.open();
+
+        assertThat(disabled.write()).isZero();
+        assertThat(disabled.find("anyone@example.com")).isEmpty();
+        assertThat(disabled.reconcile()).isZero();
+    }
+
+    private UserDirectorySnapshot snapshot(UserRepository repository) {
+        return new UserDirectorySnapshot(repository, transactionManager, properties, clock, meterRegistry);
+    }
+
+    private User persist(String prefix, UserRole role) {
+        String unique = UUID.randomUUID().toString().replace("-", "").substring(0, 10);
+        return userRepository.save(User.builder()
+                .firstName("Directory")
+                .lastName("Snapshot")
+                .dateOfBirth(LocalDate.of(1990, 1, 1))
+                .phoneNumber("07" + unique)
+                .email(prefix + unique + "@Example.com")
+                .role(role)
+                .password("hash-" + unique)
+                .createdAt(LocalDateTime.now())
+                .build());
+    }
+}
@@ -0,0 +1,91 @@
+package com.usermanagement.service;
+
+import com.usermanagement.model.User;
+import com.usermanagement.repository.UserContactView;
+import com.usermanagement.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserExistenceFilterUTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private UserExistenceFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new UserExistenceFilter(userRepository, meterRegistry);
+    }
+
+    @Test
+    void shouldAskTheDatabaseUntilLoaded() {
+        assertThat(filter.exists(UserExistenceFilter.Key.EMAIL, "john@example.com", value -> true)).isTrue();
+    }
+
+    @Test
+    void shouldSkipTheDatabaseForValuesNeverAdded() {
+        load(new Contact("John@Example.com", "+359888123456"));
+
+        assertThat(filter.exists(UserExistenceFilter.Key.EMAIL, "jane@example.com", failingLookup())).isFalse();
+        assertThat(filter.exists(UserExistenceFilter.Key.PHONE_NUMBER, "+359888000000", failingLookup())).isFalse();
+        assertThat(lookups("email", "skipped")).isEqualTo(1);
+        assertThat(lookups("phone_number", "skipped")).isEqualTo(1);
+    }
+
+    @Test
+    void shouldConfirmLoadedValuesAgainstTheDatabaseIgnoringCase() {
+        load(new Contact("John@Example.com", "+359888123456"));
+
+        assertThat(filter.exists(UserExistenceFilter.Key.EMAIL, "john@example.com", value -> true)).isTrue();
+        assertThat(filter.exists(UserExistenceFilter.Key.PHONE_NUMBER, "+359888123456", value -> false)).isFalse();
+        assertThat(lookups("email", "confirmed")).isEqualTo(1);
+        assertThat(lookups("phone_number", "false_positive")).isEqualTo(1);
+        assertThat(meterRegistry.get("users.existence.filter.false.positive.rate").tag("key", "phone_number")
+                .gauge().value()).isEqualTo(1.0);
+    }
+
+    @Test
+    void shouldAddCreatedAndUpdatedUsers() {
+        load();
+        User user = User.builder().email("new@example.com").phoneNumber("+359888654321").build();
+
+        filter.onUserChanged(new UserChangedEvent(UserChangedEvent.Type.CREATED, user));
+
+        assertThat(filter.exists(UserExistenceFilter.Key.EMAIL, "new@example.com", value -> true)).isTrue();
+        assertThat(filter.exists(UserExistenceFilter.Key.PHONE_NUMBER, "+359888654321", value -> true)).isTrue();
+    }
+
+    private void load(Contact... contacts) {
+        when(userRepository.count()).thenReturn((long) contacts.length);
+        when(userRepository.streamContactsBy()).thenReturn(Stream.of(contacts));
+        filter.rebuild();
+    }
+
+    private double lookups(String key, String result) {
+        return meterRegistry.get("users.existence.filter.lookups").tag("key", key).tag("result", result)
+                .counter().count();
+    }
+
+    private static Predicate<String> failingLookup() {
+        return value -> {
+            throw new AssertionError("The database should not be asked for [" + value + "].");
+        };
+    }
+
+    private record Contact(String getEmail, String getPhoneNumber) implements UserContactView {
+    }
+}
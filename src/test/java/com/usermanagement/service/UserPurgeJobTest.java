@@ -0,0 +1,98 @@
+package com.usermanagement.service;
+
+import com.usermanagement.model.User;
+import com.usermanagement.model.UserRole;
+import com.usermanagement.repository.UserRepository;
+import com.usermanagement.shared.config.UserPurgeProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.*;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class UserPurgeJobTest {
+
+    private static final Instant NOW = Instant.parse("2030-01-01T12:00:00Z");
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private UserPurgeJob userPurgeJob;
+
+    @BeforeEach
+    void setUp() {
+        UserPurgeProperties properties = new UserPurgeProperties();
+        properties.setRetention(Duration.ofHours(1));
+        properties.setChunkSize(2);
+        properties.setPause(Duration.ZERO);
+        userPurgeJob = new UserPurgeJob(jdbcTemplate, transactionManager, properties, Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    void softDeletedUsersAreHiddenButKeepTheirEmailAndPhoneNumber() {
+        User user = persist();
+
+        userRepository.softDelete(user.getId(), LocalDateTime.now());
+        entityManager.clear();
+
+        assertThat(userRepository.findById(user.getId())).isEmpty();
+        assertThat(userRepository.findByEmail(user.getEmail())).isEmpty();
+        assertThat(userRepository.countByEmailIncludingDeleted(user.getEmail())).isEqualTo(1);
+        assertThat(userRepository.countByPhoneNumberIncludingDeleted(user.getPhoneNumber())).isEqualTo(1);
+    }
+
+    @Test
+    void purgeRemovesUsersDeletedBeforeTheRetentionInChunks() throws InterruptedException {
+        LocalDateTime now = LocalDateTime.ofInstant(NOW, ZoneOffset.UTC);
+        long alreadyQueued = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM user_deletions WHERE deleted_at <= ?", Long.class, now.minusHours(1));
+        User live = persist();
+        User recent = persist();
+        userRepository.softDelete(recent.getId(), now.minusMinutes(5));
+        for (int i = 0; i < 5; i++) {
+            // Two users share a deletion time, the keyset continues past ties on the id.
+            userRepository.softDelete(persist().getId(), now.minusDays(1 + i / 2));
+        }
+
+        assertThat(userPurgeJob.purge()).isEqualTo(alreadyQueued + 5);
+
+        assertThat(userRepository.findById(live.getId())).isPresent();
+        assertThat(userRepository.countByEmailIncludingDeleted(recent.getEmail())).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users WHERE deleted_at <= ?", Long.class,
+                now.minusHours(1))).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM user_deletions WHERE deleted_at <= ?",
+                Long.class, now.minusHours(1))).isZero();
+    }
+
+    private User persist() {
+        String unique = UUID.randomUUID().toString().replace("-", "").substring(0, 10);
+        return entityManager.persistFlushFind(User.builder()
+                .firstName("Purge")
+                .lastName("Candidate")
+                .dateOfBirth(LocalDate.of(1990, 1, 1))
+                .phoneNumber("08" + unique)
+                .email(unique + "@example.com")
+                .role(UserRole.USER)
+                .password("password")
+                .createdAt(LocalDateTime.now())
+                .build());
+    }
+}
@@ -2,24 +2,36 @@ package com.usermanagement.service;
 
 import com.usermanagement.model.User;
 import com.usermanagement.model.UserRole;
+import com.usermanagement.repository.DateOfBirthRange;
 import com.usermanagement.repository.UserRepository;
+import com.usermanagement.shared.exception.InvalidFilterException;
 import com.usermanagement.shared.exception.PhoneNumberAlreadyExistException;
+import com.usermanagement.shared.exception.PreconditionFailedException;
 import com.usermanagement.shared.exception.UserAlreadyExistsException;
 import com.usermanagement.shared.exception.UserNotFoundException;
 import com.usermanagement.web.dto.UpdateRequest;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.time.Clock;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -32,14 +44,30 @@ import static org.mockito.Mockito.when;
 @ExtendWith(MockitoExtension.class)
 class UserServiceUTest {
 
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2025-12-29T10:00:00Z"), ZoneOffset.UTC);
+
     @Mock
     private UserRepository userRepository;
     @Mock
     private PasswordEncoder passwordEncoder;
+    @Mock
+    private UserSuggestIndex userSuggestIndex;
+    @Mock
+    private UserExistenceFilter userExistenceFilter;
+    @Mock
+    private UserDirectorySnapshot directorySnapshot;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
 
-    @InjectMocks
     private UserService userService;
 
+    @BeforeEach
+    void setUp() {
+        userService = new UserService(userRepository, passwordEncoder, userSuggestIndex, userExistenceFilter,
+                directorySnapshot, eventPublisher, CLOCK);
+    }
+
 
     @Test
     void shouldReturnAllUsersWhenNoSearchNameProvided() {
@@ -113,6 +141,60 @@ class UserServiceUTest {
                 .hasMessage("No users found.");
     }
 
+    @Test
+    void shouldReturnRequestedFieldsOfMatchingUsers() {
+        List<String> fields = List.of("email", "lastName");
+        Map<String, Object> row = Map.of("email", "john.doe@example.com", "lastName", "Doe");
+
+        Mockito.when(userRepository.findAllProjected(fields, "John", DateOfBirthRange.ANY)).thenReturn(List.of(row));
+
+        List<Map<String, Object>> result = userService.getAllUserFields(" John ", fields);
+
+        assertThat(result).containsExactly(row);
+    }
+
+    @Test
+    void shouldThrowExceptionWhenNoUsersFoundForRequestedFields() {
+        List<String> fields = List.of("email");
+
+        Mockito.when(userRepository.findAllProjected(fields, null, DateOfBirthRange.ANY)).thenReturn(Collections.emptyList());
+
+        assertThatThrownBy(() -> userService.getAllUserFields("  ", fields))
+                .isInstanceOf(UserNotFoundException.class)
+                .hasMessage("No users found.");
+    }
+
+    @Test
+    void shouldLookupUsersByEmailInChunksWithExplicitMisses() {
+        List<String> emails = new ArrayList<>();
+        for (int i = 0; i < 150; i++) {
+            emails.add("user" + i + "@example.com");
+        }
+        User user = User.builder().id(UUID.randomUUID()).email("user7@example.com").build();
+
+        Mockito.when(userRepository.findAllByEmailIn(any())).thenReturn(Collections.emptyList());
+        Mockito.when(userRepository.findAllByEmailIn(emails.subList(0, 100))).thenReturn(List.of(user));
+
+        Map<String, User> result = userService.lookupUsersByEmail(emails);
+
+        assertThat(result).hasSize(150).containsEntry("user7@example.com", user).containsEntry("user8@example.com", null);
+        assertThat(result.keySet()).containsExactlyElementsOf(emails);
+        Mockito.verify(userRepository).findAllByEmailIn(emails.subList(100, 150));
+    }
+
+    @Test
+    void shouldLookupUsersByIdWithExplicitMisses() {
+        UUID existingId = UUID.randomUUID();
+        UUID missingId = UUID.randomUUID();
+        User user = User.builder().id(existingId).build();
+
+        Mockito.when(userRepository.findAllById(List.of(existingId, missingId))).thenReturn(List.of(user));
+
+        Map<UUID, User> result = userService.lookupUsersById(List.of(existingId, missingId, existingId));
+
+        assertThat(result).hasSize(2).containsEntry(existingId, user).containsEntry(missingId, null);
+    }
+
     @Test
     void updateUser_ValidUpdate_ShouldUpdateUser() {
         UUID userId = UUID.randomUUID();
@@ -184,6 +266,155 @@ class UserServiceUTest {
         assertThrows(UserAlreadyExistsException.class, () -> userService.updateUser(userId, updateRequest));
     }
 
+    @Test
+    void updateUser_ConcurrentModification_ShouldRetryOnFreshState() {
+        UUID userId = UUID.randomUUID();
+        UpdateRequest updateRequest = UpdateRequest.builder().firstName("Retried").build();
+
+        User stale = User.builder().id(userId).firstName("Old").version(1L).build();
+        User fresh = User.builder().id(userId).firstName("Newer").version(2L).build();
+
+        Mockito.when(userRepository.findById(userId))
+                .thenReturn(Optional.of(stale))
+                .thenReturn(Optional.of(fresh));
+        Mockito.when(userRepository.save(stale))
+                .thenThrow(new ObjectOptimisticLockingFailureException(User.class, userId));
+
+        userService.updateUser(userId, updateRequest);
+
+        verify(userRepository).save(fresh);
+        assertThat(fresh.getFirstName()).isEqualTo("Retried");
+    }
+
+    @Test
+    void updateUser_ConcurrentModificationPersists_ShouldGiveUpAfterMaxAttempts() {
+        UUID userId = UUID.randomUUID();
+        UpdateRequest updateRequest = UpdateRequest.builder().firstName("Retried").build();
+
+        Mockito.when(userRepository.findById(userId))
+                .thenAnswer(invocation -> Optional.of(User.builder().id(userId).version(1L).build()));
+        Mockito.when(userRepository.save(any(User.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(User.class, userId));
+
+        assertThrows(ObjectOptimisticLockingFailureException.class,
+                () -> userService.updateUser(userId, updateRequest));
+        verify(userRepository, Mockito.times(3)).save(any(User.class));
+    }
+
+    @Test
+    void updateUser_VersionMismatch_ShouldThrowPreconditionFailed() {
+        UUID userId = UUID.randomUUID();
+        UpdateRequest updateRequest = UpdateRequest.builder().firstName("Conditional").build();
+
+        Mockito.when(userRepository.findById(userId))
+                .thenReturn(Optional.of(User.builder().id(userId).version(4L).build()));
+
+        assertThrows(PreconditionFailedException.class, () -> userService.updateUser(userId, updateRequest, 3L));
+        verify(userRepository, Mockito.never()).save(any(User.class));
+    }
+
+    @Test
+    void updateUser_ConditionalUpdateLosesRace_ShouldNotRetry() {
+        UUID userId = UUID.randomUUID();
+        UpdateRequest updateRequest = UpdateRequest.builder().firstName("Conditional").build();
+
+        Mockito.when(userRepository.findById(userId))
+                .thenReturn(Optional.of(User.builder().id(userId).version(3L).build()));
+        Mockito.when(userRepository.save(any(User.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(User.class, userId));
+
+        assertThrows(PreconditionFailedException.class, () -> userService.updateUser(userId, updateRequest, 3L));
+        verify(userRepository).save(any(User.class));
+    }
+
+    @Test
+    void searchUsersFuzzy_ShouldQueryPhoneticKeysAndRankByEditDistance() {
+        User angelov = User.builder().id(UUID.randomUUID()).firstName("Nikolay").lastName("Angelov")
+                .dateOfBirth(LocalDate.of(1990, 1, 1)).build();
+        User anghelov = User.builder().id(UUID.randomUUID()).firstName("Maria").lastName("Anghelov")
+                .dateOfBirth(LocalDate.of(1985, 1, 1)).build();
+
+        when(userRepository.findAllByPhoneticKeys(Mockito.anyCollection(), Mockito.anyInt()))
+                .thenReturn(List.of(angelov, anghelov));
+
+        List<User> users = userService.searchUsersFuzzy("Anghelov", 10);
+
+        assertThat(users).containsExactly(anghelov, angelov);
+        verify(userRepository).findAllByPhoneticKeys(Set.of("ANKL"), 1_000);
+    }
+
+    @Test
+    void searchUsersFuzzy_ShouldNotQueryWithoutKeys() {
+        assertThat(userService.searchUsersFuzzy(" - ", 10)).isEmpty();
+
+        Mockito.verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void toDateOfBirthRange_ShouldConvertAgesAndIntersectWithDates() {
+        DateOfBirthRange range = userService.toDateOfBirthRange(LocalDate.of(2003, 1, 1), null, 18, 25);
+
+        assertThat(range).isEqualTo(new DateOfBirthRange(LocalDate.of(2003, 1, 1), LocalDate.of(2007, 12, 29)));
+        assertThat(userService.toDateOfBirthRange(null, null, null, 25).from()).isEqualTo(LocalDate.of(1999, 12, 30));
+    }
+
+    @Test
+    void toDateOfBirthRange_ShouldRejectNegativeAge() {
+        assertThrows(InvalidFilterException.class, () -> userService.toDateOfBirthRange(null, null, -1, null));
+    }
+
+    @Test
+    void getAllUsers_WithRange_ShouldQueryDateOfBirthIndex() {
+        DateOfBirthRange range = new DateOfBirthRange(LocalDate.of(2000, 1, 1), null);
+        User user = User.builder().dateOfBirth(LocalDate.of(2001, 5, 5)).build();
+        when(userRepository.findAllByDateOfBirthBetweenOrderByLastNameAscDateOfBirthAsc(
+                LocalDate.of(2000, 1, 1), LocalDate.of(9999, 12, 31))).thenReturn(List.of(user));
+
+        assertThat(userService.getAllUsers(null, range)).containsExactly(user);
+    }
+
+    @Test
+    void getAllUsers_WithSearchAndRange_ShouldFilterSearchResults() {
+        User inRange = User.builder().dateOfBirth(LocalDate.of(2001, 5, 5)).build();
+        User outOfRange = User.builder().dateOfBirth(LocalDate.of(1970, 5, 5)).build();
+        when(userRepository.searchUsers("jo")).thenReturn(List.of(inRange, outOfRange));
+
+        assertThat(userService.getAllUsers("jo", new DateOfBirthRange(LocalDate.of(2000, 1, 1), null)))
+                .containsExactly(inRange);
+    }
+
+    @Test
+    void getUpcomingBirthdays_AcrossNewYear_ShouldReadBothRangesInCalendarOrder() {
+        User december = User.builder().lastName("December").build();
+        User january = User.builder().lastName("January").build();
+        when(userRepository.findAllByBirthMonthDayBetweenOrderByBirthMonthDayAscLastNameAsc(1229, 1231))
+                .thenReturn(List.of(december));
+        when(userRepository.findAllByBirthMonthDayBetweenOrderByBirthMonthDayAscLastNameAsc(101, 105))
+                .thenReturn(List.of(january));
+
+        assertThat(userService.getUpcomingBirthdays(7)).containsExactly(december, january);
+    }
+
+    @Test
+    void getUpcomingBirthdays_EndingOnFebruary28_ShouldIncludeLeapDayBirthdays() {
+        userService.getUpcomingBirthdays(61);
+
+        verify(userRepository).findAllByBirthMonthDayBetweenOrderByBirthMonthDayAscLastNameAsc(1229, 1231);
+        verify(userRepository).findAllByBirthMonthDayBetweenOrderByBirthMonthDayAscLastNameAsc(101, 229);
+    }
+
+    @Test
+    void getUpcomingBirthdays_ShouldRejectWindowOutOfRange() {
+        assertThrows(InvalidFilterException.class, () -> userService.getUpcomingBirthdays(365));
+    }
+
+    @Test
+    void suggestUsers_ShouldClampLimit() {
+        userService.suggestUsers("jo", 1_000);
+
+        verify(userSuggestIndex).suggest("jo", UserSuggestIndex.MAX_RESULTS);
+    }
+
     @Test
     void deleteUser_userExists_deletesSuccessfully() {
         UUID existingUserId = UUID.randomUUID();
@@ -195,7 +426,8 @@ class UserServiceUTest {
 
         userService.deleteUser(existingUserId);
 
-        Mockito.verify(userRepository).delete(user);
+        Mockito.verify(userRepository).softDelete(existingUserId, LocalDateTime.now(CLOCK));
+        Mockito.verify(eventPublisher).publishEvent(new UserChangedEvent(UserChangedEvent.Type.DELETED, user));
     }
 
     @Test
@@ -298,4 +530,28 @@ class UserServiceUTest {
 
         assertThrows(UserAlreadyExistsException.class, () -> userService.updateUser(userId, updateRequest));
     }
-}
\ No newline at end of file
+
+    @Test
+    void loadUserByUsername_ShouldUseSnapshotEntry_WhenPresent() {
+        when(directorySnapshot.find("jane@example.com")).thenReturn(Optional.of(new UserDirectorySnapshot.Entry(
+                UUID.randomUUID(), "Jane@example.com", UserRole.ADMIN, "hash")));
+
+        UserDetails details = userService.loadUserByUsername("jane@example.com");
+
+        assertThat(details.getUsername()).isEqualTo("Jane@example.com");
+        assertThat(details.getPassword()).isEqualTo("hash");
+        assertThat(details.getAuthorities()).extracting(Object::toString).containsExactly("ROLE_ADMIN");
+        Mockito.verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void loadUserByUsername_ShouldQueryRepository_WhenSnapshotMisses() {
+        User user = User.builder().email("jane@example.com").role(UserRole.USER).password("hash").build();
+        when(userRepository.findByEmail("jane@example.com")).thenReturn(Optional.of(user));
+
+        UserDetails details = userService.loadUserByUsername("jane@example.com");
+
+        assertThat(details.getUsername()).isEqualTo("jane@example.com");
+        assertThat(details.getAuthorities()).extracting(Object::toString).containsExactly("ROLE_USER");
+    }
+}
@@ -0,0 +1,182 @@
+package com.usermanagement.service;
+
+import com.usermanagement.model.User;
+import com.usermanagement.model.UserRole;
+import com.usermanagement.repository.UserRepository;
+import com.usermanagement.shared.config.ClockConfig;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({UserStatistics.class, ClockConfig.class})
+class UserStatisticsTest {
+
+    @Autowired
+    private UserStatistics userStatistics;
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private Clock clock;
+
+    @Test
+    void reconcileCountsUsersByRoleSignupDayAndAge() {
+        userStatistics.reconcile();
+        UserStatistics.Snapshot before = userStatistics.snapshot();
+
+        int thisYear = LocalDate.now().getYear();
+        persist(UserRole.ADMIN, thisYear - 30);
+        persist(UserRole.USER, thisYear - 20);
+        persist(UserRole.USER, thisYear - 70);
+        userStatistics.reconcile();
+        UserStatistics.Snapshot after = userStatistics.snapshot();
+
+        assertThat(after.totalUsers() - before.totalUsers()).isEqualTo(3);
+        assertThat(after.usersByRole().get(UserRole.USER) - before.usersByRole().get(UserRole.USER)).isEqualTo(2);
+        assertThat(after.signupsPerDay().get(LocalDate.now()) - before.signupsPerDay().get(LocalDate.now()))
+                .isEqualTo(3);
+        assertThat(after.usersByAge().get("18-24") - before.usersByAge().get("18-24")).isEqualTo(1);
+        assertThat(after.usersByAge().get("25-34") - before.usersByAge().get("25-34")).isEqualTo(1);
+        assertThat(after.usersByAge().get("65+") - before.usersByAge().get("65+")).isEqualTo(1);
+        assertThat(after.signupsPerDay()).hasSize(UserStatistics.SIGNUP_DAYS);
+        assertThat(after.reconciledAt()).isNotNull();
+    }
+
+    @Test
+    void eventsKeepCountersCurrentWithoutReconciling() {
+        userStatistics.reconcile();
+        UserStatistics.Snapshot before = userStatistics.snapshot();
+
+        User user = User.builder()
+                .id(UUID.randomUUID())
+                .role(UserRole.USER)
+                .dateOfBirth(LocalDate.now().minusYears(20))
+                .createdAt(LocalDateTime.now())
+                .build();
+        userStatistics.onUserChanged(new UserChangedEvent(UserChangedEvent.Type.CREATED, user));
+
+        User older = user.toBuilder().dateOfBirth(LocalDate.now().minusYears(40)).build();
+        userStatistics.onUserChanged(new UserChangedEvent(UserChangedEvent.Type.UPDATED, older, user));
+
+        UserStatistics.Snapshot updated = userStatistics.snapshot();
+        assertThat(updated.totalUsers() - before.totalUsers()).isEqualTo(1);
+        assertThat(updated.usersByAge().get("18-24")).isEqualTo(before.usersByAge().get("18-24"));
+        assertThat(updated.usersByAge().get("35-44") - before.usersByAge().get("35-44")).isEqualTo(1);
+
+        userStatistics.onUserChanged(new UserChangedEvent(UserChangedEvent.Type.DELETED, older));
+
+        assertThat(userStatistics.snapshot()).isEqualTo(before);
+    }
+
+    @Test
+    void persistedCountersAreLoadedBackWithUnsavedChanges() {
+        persist(UserRole.USER, 1990);
+        userStatistics.reconcile();
+        UserStatistics.Snapshot reconciled = userStatistics.snapshot();
+
+        userStatistics.persist();
+        userStatistics.onUserChanged(created(UserRole.ADMIN));
+        userStatistics.load();
+
+        UserStatistics.Snapshot loaded = userStatistics.snapshot();
+        assertThat(loaded.totalUsers()).isEqualTo(reconciled.totalUsers() + 1);
+        assertThat(loaded.usersByRole().get(UserRole.ADMIN))
+                .isEqualTo(reconciled.usersByRole().get(UserRole.ADMIN) + 1);
+        assertThat(loaded.reconciledAt()).isEqualTo(reconciled.reconciledAt().withNano(0));
+    }
+
+    @Test
+    void nodesAddTheirChangesToTheSharedCounters() {
+        userStatistics.reconcile();
+        long before = userStatistics.snapshot().totalUsers();
+        UserStatistics otherNode = new UserStatistics(userRepository, jdbcTemplate, transactionManager, clock);
+        otherNode.load();
+
+        userStatistics.onUserChanged(created(UserRole.USER));
+        otherNode.onUserChanged(created(UserRole.USER));
+        otherNode.onUserChanged(created(UserRole.ADMIN));
+        userStatistics.persist();
+        otherNode.persist();
+
+        assertThat(otherNode.snapshot().totalUsers()).isEqualTo(before + 3);
+        assertThat(userStatistics.snapshot().totalUsers()).isEqualTo(before + 1);
+        userStatistics.persist();
+        assertThat(userStatistics.snapshot().totalUsers()).isEqualTo(before + 3);
+    }
+
+    @Test
+    void unsavedChangesAreSavedOnShutdown() {
+        userStatistics.reconcile();
+        long before = userStatistics.snapshot().totalUsers();
+
+        userStatistics.onUserChanged(created(UserRole.USER));
+        userStatistics.persistOnShutdown();
+
+        UserStatistics restarted = new UserStatistics(userRepository, jdbcTemplate, transactionManager, clock);
+        restarted.load();
+        assertThat(restarted.snapshot().totalUsers()).isEqualTo(before + 1);
+    }
+
+    @Test
+    void changesDuringAReconcileAreKept() {
+        UserRepository counting = mock(UserRepository.class);
+        UserStatistics statistics = new UserStatistics(counting, jdbcTemplate, transactionManager, clock);
+        User deleted = created(UserRole.USER).user();
+        when(counting.countByRole()).thenAnswer(invocation -> {
+            statistics.onUserChanged(created(UserRole.ADMIN));
+            statistics.onUserChanged(new UserChangedEvent(UserChangedEvent.Type.DELETED, deleted));
+            return List.<Object[]>of(new Object[]{UserRole.USER, 5L});
+        });
+
+        statistics.reconcile();
+
+        assertThat(statistics.snapshot().totalUsers()).isEqualTo(5);
+        assertThat(statistics.snapshot().usersByRole())
+                .containsEntry(UserRole.USER, 4L)
+                .containsEntry(UserRole.ADMIN, 1L);
+    }
+
+    private static UserChangedEvent created(UserRole role) {
+        return new UserChangedEvent(UserChangedEvent.Type.CREATED, User.builder()
+                .role(role).createdAt(LocalDateTime.now()).dateOfBirth(LocalDate.of(1980, 1, 1)).build());
+    }
+
+    private void persist(UserRole role, int birthYear) {
+        String unique = UUID.randomUUID().toString().substring(0, 8);
+        entityManager.persist(User.builder()
+                .firstName("Stats")
+                .lastName("User")
+                .dateOfBirth(LocalDate.of(birthYear, 1, 1))
+                .phoneNumber("08" + unique)
+                .email(unique + "@example.com")
+                .role(role)
+                .password("password")
+                .createdAt(LocalDateTime.now())
+                .build());
+        entityManager.flush();
+    }
+}
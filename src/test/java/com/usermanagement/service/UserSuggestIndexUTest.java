@@ -0,0 +1,158 @@
+package com.usermanagement.service;
+
+import com.usermanagement.model.User;
+import com.usermanagement.repository.UserNameView;
+import com.usermanagement.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserSuggestIndexUTest {
+
+    private final UserRepository userRepository = Mockito.mock(UserRepository.class);
+    private UserSuggestIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new UserSuggestIndex(userRepository);
+    }
+
+    @Test
+    void shouldReturnPrefixMatchesInListOrder() {
+        UUID younger = add("Anna", "Smith", LocalDate.of(1995, 1, 1));
+        UUID older = add("Annabel", "Smith", LocalDate.of(1980, 1, 1));
+        UUID other = add("John", "Annan", LocalDate.of(1990, 1, 1));
+        add("Bob", "Jones", LocalDate.of(1990, 1, 1));
+
+        assertThat(index.suggest("ann", 10))
+                .extracting(UserSuggestIndex.Suggestion::id)
+                .containsExactly(other, older, younger);
+    }
+
+    @Test
+    void shouldRequireEveryTermToMatchAndIgnoreAccentsAndCase() {
+        UUID renee = add("Renée", "Dupont", LocalDate.of(1990, 1, 1));
+        add("Renée", "Martin", LocalDate.of(1990, 1, 1));
+
+        assertThat(index.suggest("RENEE du", 10))
+                .extracting(UserSuggestIndex.Suggestion::id)
+                .containsExactly(renee);
+    }
+
+    @Test
+    void shouldKeepOnlyTheFirstResultsUpToLimit() {
+        add("Sam", "Carter", LocalDate.of(1990, 1, 1));
+        add("Sam", "Adams", LocalDate.of(1990, 1, 1));
+        add("Sam", "Baker", LocalDate.of(1990, 1, 1));
+
+        assertThat(index.suggest("sam", 2))
+                .extracting(UserSuggestIndex.Suggestion::lastName)
+                .containsExactly("Adams", "Baker");
+    }
+
+    @Test
+    void shouldFollowUpdatesAndDeletes() {
+        UUID id = UUID.randomUUID();
+        User user = User.builder().id(id).firstName("Old").lastName("Name").dateOfBirth(LocalDate.of(1990, 1, 1)).build();
+        index.onUserChanged(new UserChangedEvent(UserChangedEvent.Type.CREATED, user));
+
+        user.setFirstName("New");
+        index.onUserChanged(new UserChangedEvent(UserChangedEvent.Type.UPDATED, user));
+
+        assertThat(index.suggest("old", 10)).isEmpty();
+        assertThat(index.suggest("new", 10)).hasSize(1);
+
+        index.onUserChanged(new UserChangedEvent(UserChangedEvent.Type.DELETED, user));
+
+        assertThat(index.suggest("new", 10)).isEmpty();
+        assertThat(index.size()).isZero();
+    }
+
+    @Test
+    void shouldKeepChangesMadeWhileLoading() {
+        User deleted = user("Deleted", "User");
+        User renamed = user("Old", "Name");
+        User created = user("Created", "User");
+
+        // The changes commit while the load runs, after the renamed row was read and before the deleted one.
+        Mockito.when(userRepository.streamAllBy()).thenReturn(Stream.of(renamed, deleted).map(user -> {
+            UserNameView row = view(user);
+            if (user == renamed) {
+                renamed.setFirstName("New");
+                index.onUserChanged(new UserChangedEvent(UserChangedEvent.Type.UPDATED, renamed));
+                index.onUserChanged(new UserChangedEvent(UserChangedEvent.Type.DELETED, deleted));
+                index.onUserChanged(new UserChangedEvent(UserChangedEvent.Type.CREATED, created));
+            }
+            return row;
+        }));
+
+        index.load();
+
+        assertThat(index.suggest("deleted", 10)).isEmpty();
+        assertThat(index.suggest("old", 10)).isEmpty();
+        assertThat(index.suggest("new", 10)).extracting(UserSuggestIndex.Suggestion::id)
+                .containsExactly(renamed.getId());
+        assertThat(index.suggest("created", 10)).extracting(UserSuggestIndex.Suggestion::id)
+                .containsExactly(created.getId());
+    }
+
+    @Test
+    void shouldDropUsersMissingFromTheTableOnReload() {
+        add("Gone", "User", LocalDate.of(1990, 1, 1));
+        User kept = user("Kept", "User");
+        Mockito.when(userRepository.streamAllBy()).thenReturn(Stream.of(view(kept)));
+
+        index.load();
+
+        assertThat(index.suggest("gone", 10)).isEmpty();
+        assertThat(index.suggest("kept", 10)).extracting(UserSuggestIndex.Suggestion::id)
+                .containsExactly(kept.getId());
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    private UUID add(String firstName, String lastName, LocalDate dateOfBirth) {
+        UUID id = UUID.randomUUID();
+        index.put(id, firstName, lastName, dateOfBirth);
+        return id;
+    }
+
+    private static User user(String firstName, String lastName) {
+        return User.builder()
+                .id(UUID.randomUUID())
+                .firstName(firstName)
+                .lastName(lastName)
+                .dateOfBirth(LocalDate.of(1990, 1, 1))
+                .build();
+    }
+
+    private static UserNameView view(User user) {
+        String firstName = user.getFirstName();
+        return new UserNameView() {
+            @Override
+            public UUID getId() {
+                return user.getId();
+            }
+
+            @Override
+            public String getFirstName() {
+                return firstName;
+            }
+
+            @Override
+            public String getLastName() {
+                return user.getLastName();
+            }
+
+            @Override
+            public LocalDate getDateOfBirth() {
+                return user.getDateOfBirth();
+            }
+        };
+    }
+}
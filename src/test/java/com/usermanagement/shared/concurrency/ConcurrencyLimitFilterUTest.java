@@ -0,0 +1,82 @@
+package com.usermanagement.shared.concurrency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.usermanagement.shared.concurrency.ConcurrencyLimitFilter.RouteGroup;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConcurrencyLimitFilterUTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void mapsRequestsToRouteGroups() {
+        assertThat(ConcurrencyLimitFilter.routeGroup("POST", "/api/v1/login")).isEqualTo(RouteGroup.AUTH);
+        assertThat(ConcurrencyLimitFilter.routeGroup("POST", "/api/v1/register")).isEqualTo(RouteGroup.AUTH);
+        assertThat(ConcurrencyLimitFilter.routeGroup("GET", "/api/v1/users")).isEqualTo(RouteGroup.READ);
+        assertThat(ConcurrencyLimitFilter.routeGroup("GET", "/api/v1/users/by-email")).isEqualTo(RouteGroup.READ);
+        assertThat(ConcurrencyLimitFilter.routeGroup("POST", "/api/v1/users/lookup")).isEqualTo(RouteGroup.READ);
+        assertThat(ConcurrencyLimitFilter.routeGroup("PATCH", "/api/v1/users/1")).isEqualTo(RouteGroup.WRITE);
+        assertThat(ConcurrencyLimitFilter.routeGroup("DELETE", "/api/v1/users/1")).isEqualTo(RouteGroup.WRITE);
+        assertThat(ConcurrencyLimitFilter.routeGroup("GET", "/actuator/health")).isNull();
+        assertThat(ConcurrencyLimitFilter.routeGroup("GET", "/.well-known/jwks.json")).isNull();
+        assertThat(ConcurrencyLimitFilter.routeGroup("GET", "/api/v1/usersx")).isNull();
+    }
+
+    @Test
+    void refusesRequestsOfAGroupAtItsLimitWith503() throws Exception {
+        ConcurrencyLimitFilter filter = filter(1);
+        MockHttpServletResponse refused = new MockHttpServletResponse();
+        AtomicReference<MockHttpServletResponse> other = new AtomicReference<>(new MockHttpServletResponse());
+
+        // The second read arrives while the first is still in the chain, a write is not affected.
+        FilterChain firstRead = (request, response) -> {
+            filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/users"), refused, new MockFilterChain());
+            filter.doFilter(new MockHttpServletRequest("DELETE", "/api/v1/users/1"), other.get(),
+                    new MockFilterChain());
+        };
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/users"), first, firstRead);
+
+        assertThat(first.getStatus()).isEqualTo(200);
+        assertThat(other.get().getStatus()).isEqualTo(200);
+        assertThat(refused.getStatus()).isEqualTo(503);
+        assertThat(refused.getHeader("Retry-After")).isEqualTo("1");
+        assertThat(refused.getContentAsString()).contains("\"status\":503");
+        assertThat(meterRegistry.get("http.concurrency.rejected").tag("group", "read").counter().count())
+                .isEqualTo(1);
+        assertThat(filter.limiter(RouteGroup.READ).getInFlight()).isZero();
+    }
+
+    @Test
+    void releasesTheSlotWhenTheRequestFails() throws Exception {
+        ConcurrencyLimitFilter filter = filter(1);
+
+        try {
+            filter.doFilter(new MockHttpServletRequest("POST", "/api/v1/login"), new MockHttpServletResponse(),
+                    (request, response) -> {
+                        throw new IllegalStateException("boom");
+                    });
+        } catch (IllegalStateException expected) {
+            // released below
+        }
+
+        assertThat(filter.limiter(RouteGroup.AUTH).getInFlight()).isZero();
+    }
+
+    private ConcurrencyLimitFilter filter(int limit) {
+        ConcurrencyLimitProperties properties = new ConcurrencyLimitProperties();
+        properties.setInitialLimit(limit);
+        properties.setMinLimit(limit);
+        properties.setMaxLimit(limit);
+        return new ConcurrencyLimitFilter(properties, new ObjectMapper().findAndRegisterModules(), meterRegistry);
+    }
+}
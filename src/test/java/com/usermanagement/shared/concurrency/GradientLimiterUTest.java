@@ -0,0 +1,79 @@
+package com.usermanagement.shared.concurrency;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GradientLimiterUTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(5);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private final ConcurrencyLimitProperties properties = new ConcurrencyLimitProperties();
+
+    @Test
+    void refusesRequestsBeyondTheLimit() {
+        properties.setInitialLimit(2);
+        properties.setMinLimit(1);
+        GradientLimiter limiter = new GradientLimiter(properties);
+
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isFalse();
+        assertThat(limiter.getInFlight()).isEqualTo(2);
+
+        limiter.release(FAST);
+
+        assertThat(limiter.getInFlight()).isEqualTo(1);
+        assertThat(limiter.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void growsWhileLatencyHoldsUnderLoad() {
+        GradientLimiter limiter = new GradientLimiter(properties);
+
+        for (int i = 0; i < 200; i++) {
+            limiter.onSample(FAST, limiter.getLimit());
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(properties.getMaxLimit());
+    }
+
+    @Test
+    void doesNotGrowWhileMostlyIdle() {
+        GradientLimiter limiter = new GradientLimiter(properties);
+
+        for (int i = 0; i < 200; i++) {
+            limiter.onSample(FAST, 1);
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(properties.getInitialLimit());
+    }
+
+    @Test
+    void shrinksWhenLatencyRisesAndRecoversAfterwards() {
+        properties.setMaxLimit(100);
+        GradientLimiter limiter = new GradientLimiter(properties);
+        for (int i = 0; i < 1_000; i++) {
+            limiter.onSample(FAST, limiter.getLimit());
+        }
+        assertThat(limiter.getLimit()).isEqualTo(100);
+
+        for (int i = 0; i < 30; i++) {
+            limiter.onSample(SLOW, limiter.getLimit());
+        }
+        assertThat(limiter.getLimit()).isLessThan(20);
+
+        for (int i = 0; i < 30; i++) {
+            limiter.onSample(SLOW, limiter.getLimit());
+        }
+        assertThat(limiter.getLimit()).isLessThanOrEqualTo(properties.getMinLimit() + 1);
+
+        for (int i = 0; i < 1_000; i++) {
+            limiter.onSample(FAST, limiter.getLimit());
+        }
+        assertThat(limiter.getLimit()).isEqualTo(100);
+    }
+}
@@ -0,0 +1,71 @@
+package com.usermanagement.shared.generator;
+
+import com.usermanagement.model.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@JdbcTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SyntheticUserGeneratorTest {
+
+    private static final int USERS = 2_500;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<User> expected = new ArrayList<>();
+
+    @AfterEach
+    void deleteGeneratedUsers() {
+        expected.forEach(user -> jdbcTemplate.update("DELETE FROM users WHERE email = ?", user.getEmail()));
+    }
+
+    @Test
+    void generatesTheSameUsersForTheSameSeedWhateverTheProducerCount() throws Exception {
+        SyntheticUserProperties properties = new SyntheticUserProperties();
+        properties.setUsers(USERS);
+        properties.setBatchSize(300);
+        properties.setProducers(3);
+        SyntheticUserGenerator generator =
+                new SyntheticUserGenerator(jdbcTemplate, new BCryptPasswordEncoder(4), properties, null);
+        SyntheticUserGenerator.PhoneNumberPlan phoneNumbers =
+                SyntheticUserGenerator.PhoneNumberPlan.forRegion(properties.getRegion(), USERS);
+        for (int batch = 0; batch * properties.getBatchSize() < USERS; batch++) {
+            expected.addAll(generator.batch(batch, "hash", phoneNumbers));
+        }
+        int before = count();
+
+        generator.generate();
+
+        assertThat(count() - before).isEqualTo(USERS);
+        assertThat(expected).extracting(User::getEmail).doesNotHaveDuplicates();
+        assertThat(expected).extracting(User::getPhoneNumber).doesNotHaveDuplicates();
+        for (User user : List.of(expected.get(0), expected.get(USERS / 2), expected.get(USERS - 1))) {
+            assertThat(jdbcTemplate.queryForMap(
+                    "SELECT first_name, last_name, date_of_birth, phone_number FROM users WHERE email = ?",
+                    user.getEmail()))
+                    .containsEntry("FIRST_NAME", user.getFirstName())
+                    .containsEntry("LAST_NAME", user.getLastName())
+                    .containsEntry("PHONE_NUMBER", user.getPhoneNumber());
+        }
+    }
+
+    private int count() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Integer.class);
+    }
+}
@@ -0,0 +1,57 @@
+package com.usermanagement.shared.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IdempotencyFilterUTest {
+
+    private final IdempotencyProperties properties = new IdempotencyProperties();
+    private final IdempotencyFilter filter = new IdempotencyFilter(
+            new IdempotencyStore(properties, Clock.systemUTC()), properties, new ObjectMapper());
+
+    @Test
+    void shouldHandTheCachedBodyToANonBlockingReader() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/register");
+        request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY, "key");
+        request.setContent("{\"email\":\"john@example.com\"}".getBytes(StandardCharsets.UTF_8));
+        List<String> calls = new ArrayList<>();
+        ByteArrayOutputStream read = new ByteArrayOutputStream();
+
+        filter.doFilter(request, new MockHttpServletResponse(), (servletRequest, servletResponse) -> {
+            ServletInputStream input = servletRequest.getInputStream();
+            input.setReadListener(new ReadListener() {
+                @Override
+                public void onDataAvailable() throws IOException {
+                    calls.add("available");
+                    input.transferTo(read);
+                }
+
+                @Override
+                public void onAllDataRead() {
+                    calls.add("all read");
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    calls.add("error");
+                }
+            });
+        });
+
+        assertThat(calls).containsExactly("available", "all read");
+        assertThat(read.toString(StandardCharsets.UTF_8)).isEqualTo("{\"email\":\"john@example.com\"}");
+    }
+}
@@ -0,0 +1,138 @@
+package com.usermanagement.shared.idempotency;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IdempotencyStoreUTest {
+
+    private static final IdempotencyStore.StoredResponse CREATED =
+            new IdempotencyStore.StoredResponse(201, Map.of("Content-Type", List.of("application/json")), new byte[]{1});
+
+    private IdempotencyProperties properties;
+    private MutableClock clock;
+    private IdempotencyStore store;
+
+    @BeforeEach
+    void setUp() {
+        properties = new IdempotencyProperties();
+        properties.setWaitTimeout(Duration.ofSeconds(5));
+        clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+        store = new IdempotencyStore(properties, clock);
+    }
+
+    @Test
+    void shouldMakeADuplicateWaitForTheFirstResponse() throws Exception {
+        IdempotencyStore.Result first = store.acquire("key", "body");
+
+        CompletableFuture<IdempotencyStore.Result> duplicate = CompletableFuture.supplyAsync(() -> acquire("key", "body"));
+        Thread.sleep(100);
+        assertThat(duplicate).isNotDone();
+        store.complete(first.entry(), CREATED);
+
+        IdempotencyStore.Result replay = duplicate.get(5, TimeUnit.SECONDS);
+        assertThat(first.status()).isEqualTo(IdempotencyStore.Status.OWNER);
+        assertThat(replay.status()).isEqualTo(IdempotencyStore.Status.REPLAY);
+        assertThat(replay.response()).isSameAs(CREATED);
+    }
+
+    @Test
+    void shouldHandOverTheKeyWhenTheFirstRequestIsAbandoned() throws Exception {
+        IdempotencyStore.Result first = store.acquire("key", "body");
+
+        CompletableFuture<IdempotencyStore.Result> duplicate = CompletableFuture.supplyAsync(() -> acquire("key", "body"));
+        Thread.sleep(100);
+        store.abandon("key", first.entry());
+
+        assertThat(duplicate.get(5, TimeUnit.SECONDS).status()).isEqualTo(IdempotencyStore.Status.OWNER);
+    }
+
+    @Test
+    void shouldRejectAKeyReusedWithADifferentBody() throws Exception {
+        store.acquire("key", "body");
+
+        assertThat(store.acquire("key", "other").status()).isEqualTo(IdempotencyStore.Status.MISMATCH);
+    }
+
+    @Test
+    void shouldGiveUpWaitingAfterTheTimeout() throws Exception {
+        properties.setWaitTimeout(Duration.ofMillis(50));
+        store.acquire("key", "body");
+
+        assertThat(store.acquire("key", "body").status()).isEqualTo(IdempotencyStore.Status.IN_PROGRESS);
+    }
+
+    @Test
+    void shouldForgetKeysAfterTheTtlAndBeyondTheSizeLimit() throws Exception {
+        properties.setMaxEntries(2);
+        store.complete(store.acquire("a", "body").entry(), CREATED);
+        store.complete(store.acquire("b", "body").entry(), CREATED);
+        store.complete(store.acquire("c", "body").entry(), CREATED);
+
+        assertThat(store.size()).isEqualTo(2);
+        assertThat(store.acquire("a", "body").status()).isEqualTo(IdempotencyStore.Status.OWNER);
+
+        clock.advance(properties.getTtl());
+        assertThat(store.acquire("c", "body").status()).isEqualTo(IdempotencyStore.Status.OWNER);
+    }
+
+    @Test
+    void shouldKeepRunningRequestsAndRefuseNewKeysWhenOnlyThoseAreLeft() throws Exception {
+        properties.setMaxEntries(2);
+        properties.setWaitTimeout(Duration.ofMillis(50));
+        store.acquire("a", "body");
+        store.complete(store.acquire("b", "body").entry(), CREATED);
+
+        assertThat(store.acquire("c", "body").status()).isEqualTo(IdempotencyStore.Status.OWNER);
+        assertThat(store.acquire("d", "body").status()).isEqualTo(IdempotencyStore.Status.FULL);
+
+        clock.advance(properties.getTtl());
+        assertThat(store.acquire("a", "body").status()).isEqualTo(IdempotencyStore.Status.IN_PROGRESS);
+    }
+
+    private IdempotencyStore.Result acquire(String key, String fingerprint) {
+        try {
+            return store.acquire(key, fingerprint);
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        private void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.usermanagement.shared.tracing;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.usermanagement.service.JwtService;
+import com.usermanagement.service.UserService;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:tracing-test;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "management.tracing.sampling.probability=1.0",
+        "app.tracing.file=target/tracing-test/traces.jsonl"})
+@AutoConfigureMockMvc
+@AutoConfigureObservability(metrics = false)
+@ActiveProfiles("test")
+class TracingTest {
+
+    private static final Path TRACE_FILE = Path.of("target/tracing-test/traces.jsonl.0");
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private JwtService jwtService;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private SdkTracerProvider tracerProvider;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void listRequestIsTracedFromFilterToRepositoryInOneTrace() throws Exception {
+        String token = "Bearer " + jwtService.generateToken(userService.loadUserByUsername("admin@gmail.com"));
+
+        mockMvc.perform(get("/api/v1/users").header("Authorization", token)).andExpect(status().isOk());
+        tracerProvider.forceFlush().join(10, TimeUnit.SECONDS);
+
+        Map<String, Set<String>> spanNamesByTrace = new HashMap<>();
+        for (String line : Files.readAllLines(TRACE_FILE)) {
+            for (JsonNode scopeSpans : objectMapper.readTree(line).path("scopeSpans")) {
+                for (JsonNode span : scopeSpans.path("spans")) {
+                    spanNamesByTrace.computeIfAbsent(span.path("traceId").asText(), id -> new HashSet<>())
+                            .add(span.path("name").asText());
+                }
+            }
+        }
+
+        assertThat(spanNamesByTrace.values()).anySatisfy(names -> assertThat(names).contains(
+                "http get /api/v1/users",
+                "jwt authentication",
+                "user-repository#find-by-email",
+                "user-service#get-all-users",
+                "user-repository#find-all-by-order-by-last-name-asc",
+                "json write"));
+    }
+}
@@ -0,0 +1,45 @@
+package com.usermanagement.shared.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UuidV7GeneratorUTest {
+
+    @Test
+    void shouldGenerateVersion7Uuids() {
+        UUID uuid = UuidV7Generator.next();
+
+        assertThat(uuid.version()).isEqualTo(7);
+        assertThat(uuid.variant()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldEmbedCurrentTimestamp() {
+        long before = System.currentTimeMillis();
+        UUID uuid = UuidV7Generator.next();
+        long after = System.currentTimeMillis();
+
+        long timestamp = uuid.getMostSignificantBits() >>> 16;
+
+        assertThat(timestamp).isBetween(before, after + 1);
+    }
+
+    @Test
+    void shouldGenerateStrictlyIncreasingUuidsWithinTheSameMillisecond() {
+        List<UUID> uuids = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            uuids.add(UuidV7Generator.next());
+        }
+
+        for (int i = 1; i < uuids.size(); i++) {
+            assertThat(Long.compareUnsigned(
+                    uuids.get(i - 1).getMostSignificantBits(),
+                    uuids.get(i).getMostSignificantBits())).isNegative();
+        }
+    }
+}
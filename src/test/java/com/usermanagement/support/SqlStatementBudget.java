@@ -0,0 +1,33 @@
+package com.usermanagement.support;
+
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import java.util.List;
+
+/**
+ * MockMvc matcher that fails a request which issued more SQL statements than its budget, listing every
+ * statement. Counts what {@link SqlStatementRecorder} saw on the test thread since the last reset, which
+ * covers all SQL sent through Hibernate.
+ */
+public final class SqlStatementBudget {
+
+    private SqlStatementBudget() {
+    }
+
+    public static ResultMatcher atMost(int budget) {
+        return result -> {
+            List<String> statements = SqlStatementRecorder.statements();
+            if (statements.size() <= budget) {
+                return;
+            }
+
+            StringBuilder message = new StringBuilder("%s %s issued %d SQL statements, budget is %d:".formatted(
+                    result.getRequest().getMethod(), result.getRequest().getRequestURI(), statements.size(), budget));
+            for (int i = 0; i < statements.size(); i++) {
+                message.append("\n  ").append(i + 1).append(". ").append(statements.get(i));
+            }
+
+            throw new AssertionError(message.toString());
+        };
+    }
+}
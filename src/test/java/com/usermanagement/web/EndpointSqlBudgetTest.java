@@ -0,0 +1,187 @@
+package com.usermanagement.web;
+
+import com.usermanagement.model.User;
+import com.usermanagement.model.UserRole;
+import com.usermanagement.repository.UserRepository;
+import com.usermanagement.service.JwtService;
+import com.usermanagement.service.UserService;
+import com.usermanagement.support.SqlStatementRecorder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static com.usermanagement.support.SqlStatementBudget.atMost;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * SQL statement budget of every user and authentication route. A failure lists the statements the request
+ * issued, raise a budget only when the extra statements are intended.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class EndpointSqlBudgetTest {
+
+    private static final String PASSWORD = "Password123";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private JwtService jwtService;
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private User user;
+    private String userToken;
+    private String adminToken;
+
+    @BeforeEach
+    void setUp() {
+        user = createUser();
+        userToken = "Bearer " + jwtService.generateToken(userService.loadUserByUsername(user.getEmail()));
+        adminToken = "Bearer " + jwtService.generateToken(userService.loadUserByUsername("admin@gmail.com"));
+    }
+
+    @Test
+    void register() throws Exception {
+        String unique = unique();
+        perform(post("/api/v1/register").contentType(MediaType.APPLICATION_JSON).content("""
+                {"firstName": "Budget", "lastName": "Tester", "dateOfBirth": "1990-01-01",
+                 "phoneNumber": "+35988%s", "email": "%s@example.com", "password": "%s"}
+                """.formatted(unique.substring(0, 7).replaceAll("\\D", "1"), unique, PASSWORD)))
+                .andExpect(status().isCreated())
+                .andExpect(atMost(2));
+    }
+
+    @Test
+    void login() throws Exception {
+        perform(post("/api/v1/login").contentType(MediaType.APPLICATION_JSON).content("""
+                {"email": "%s", "password": "%s"}
+                """.formatted(user.getEmail(), PASSWORD)))
+                .andExpect(status().isOk())
+                .andExpect(atMost(2));
+    }
+
+    @Test
+    void getAllUsers() throws Exception {
+        perform(get("/api/v1/users").header("Authorization", userToken))
+                .andExpect(status().isOk())
+                .andExpect(atMost(2));
+    }
+
+    @Test
+    void getAllUsersWithFields() throws Exception {
+        perform(get("/api/v1/users").param("fields", "email,lastName").header("Authorization", userToken))
+                .andExpect(status().isOk())
+                .andExpect(atMost(2));
+    }
+
+    @Test
+    void getAllUsersByAge() throws Exception {
+        perform(get("/api/v1/users").param("minAge", "18").param("maxAge", "99").header("Authorization", userToken))
+                .andExpect(status().isOk())
+                .andExpect(atMost(2));
+    }
+
+    @Test
+    void getByEmail() throws Exception {
+        perform(get("/api/v1/users/by-email").param("email", user.getEmail()).header("Authorization", userToken))
+                .andExpect(status().isOk())
+                .andExpect(atMost(2));
+    }
+
+    @Test
+    void getStatistics() throws Exception {
+        perform(get("/api/v1/users/stats").header("Authorization", userToken))
+                .andExpect(status().isOk())
+                .andExpect(atMost(1));
+    }
+
+    @Test
+    void getUpcomingBirthdays() throws Exception {
+        perform(get("/api/v1/users/birthdays").param("days", "364").header("Authorization", userToken))
+                .andExpect(status().isOk())
+                .andExpect(atMost(3));
+    }
+
+    @Test
+    void suggestUsers() throws Exception {
+        perform(get("/api/v1/users/suggest").param("q", "bud").header("Authorization", userToken))
+                .andExpect(status().isOk())
+                .andExpect(atMost(1));
+    }
+
+    @Test
+    void searchUsersFuzzy() throws Exception {
+        perform(get("/api/v1/users/fuzzy-search").param("name", "Budjet").header("Authorization", userToken))
+                .andExpect(status().isOk())
+                .andExpect(atMost(2));
+    }
+
+    @Test
+    void lookupUsers() throws Exception {
+        perform(post("/api/v1/users/lookup").header("Authorization", userToken)
+                .contentType(MediaType.APPLICATION_JSON).content("""
+                        {"emails": ["%s", "missing@example.com"], "ids": ["%s", "%s"]}
+                        """.formatted(user.getEmail(), user.getId(), UUID.randomUUID())))
+                .andExpect(status().isOk())
+                .andExpect(atMost(3));
+    }
+
+    @Test
+    void updateUser() throws Exception {
+        perform(patch("/api/v1/users/{userId}", user.getId()).header("Authorization", adminToken)
+                .contentType(MediaType.APPLICATION_JSON).content("""
+                        {"firstName": "Renamed", "phoneNumber": "+359881234567"}
+                        """))
+                .andExpect(status().isNoContent())
+                .andExpect(atMost(5));
+    }
+
+    @Test
+    void deleteUser() throws Exception {
+        perform(delete("/api/v1/users/{userId}", user.getId()).header("Authorization", adminToken))
+                .andExpect(status().isNoContent())
+                .andExpect(atMost(4));
+    }
+
+    private ResultActions perform(MockHttpServletRequestBuilder request) throws Exception {
+        SqlStatementRecorder.reset();
+        return mockMvc.perform(request);
+    }
+
+    private User createUser() {
+        String unique = unique();
+        return userRepository.save(User.builder()
+                .firstName("Budget")
+                .lastName("User")
+                .dateOfBirth(LocalDate.of(1990, 1, 1))
+                .phoneNumber("08" + unique)
+                .email(unique + "@example.com")
+                .role(UserRole.USER)
+                .password(passwordEncoder.encode(PASSWORD))
+                .createdAt(LocalDateTime.now())
+                .build());
+    }
+
+    private static String unique() {
+        return UUID.randomUUID().toString().replace("-", "").substring(0, 10);
+    }
+}
@@ -0,0 +1,105 @@
+package com.usermanagement.web;
+
+import com.usermanagement.shared.idempotency.IdempotencyFilter;
+import com.usermanagement.support.SqlStatementRecorder;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.UUID;
+
+import static com.usermanagement.support.SqlStatementBudget.atMost;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class IdempotencyKeyTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void shouldReplayARepeatedRegistrationWithoutRunningItAgain() throws Exception {
+        String body = registration();
+        String key = UUID.randomUUID().toString();
+
+        MvcResult first = mockMvc.perform(register(body).header(IdempotencyFilter.IDEMPOTENCY_KEY, key))
+                .andExpect(status().isCreated())
+                .andReturn();
+
+        SqlStatementRecorder.reset();
+        MvcResult retry = mockMvc.perform(register(body).header(IdempotencyFilter.IDEMPOTENCY_KEY, key))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(IdempotencyFilter.IDEMPOTENT_REPLAYED, "true"))
+                .andExpect(atMost(0))
+                .andReturn();
+
+        assertThat(retry.getResponse().getContentAsString()).isEqualTo(first.getResponse().getContentAsString());
+        assertThat(retry.getResponse().getContentType()).isEqualTo(first.getResponse().getContentType());
+    }
+
+    @Test
+    void shouldRejectAKeyReusedForAnotherRequestBody() throws Exception {
+        String key = UUID.randomUUID().toString();
+        mockMvc.perform(register(registration()).header(IdempotencyFilter.IDEMPOTENCY_KEY, key))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(register(registration()).header(IdempotencyFilter.IDEMPOTENCY_KEY, key))
+                .andExpect(status().isUnprocessableEntity());
+    }
+
+    @Test
+    void shouldRunARepeatedRegistrationWithoutKeyAgain() throws Exception {
+        String body = registration();
+        mockMvc.perform(register(body)).andExpect(status().isCreated());
+
+        mockMvc.perform(register(body)).andExpect(status().isConflict());
+    }
+
+    @Test
+    void shouldRejectAKeyedRequestBodyAboveTheLimit() throws Exception {
+        mockMvc.perform(register("x".repeat(1024 * 1024 + 1))
+                        .header(IdempotencyFilter.IDEMPOTENCY_KEY, UUID.randomUUID().toString()))
+                .andExpect(status().isPayloadTooLarge());
+    }
+
+    @Test
+    void shouldNotReplayALogin() throws Exception {
+        String registration = registration();
+        mockMvc.perform(register(registration)).andExpect(status().isCreated());
+        String email = registration.replaceAll("(?s).*\"email\": \"([^\"]+)\".*", "$1");
+        String key = UUID.randomUUID().toString();
+        String body = """
+                {"email": "%s", "password": "Password123"}
+                """.formatted(email);
+
+        for (int attempt = 0; attempt < 2; attempt++) {
+            mockMvc.perform(post("/api/v1/login").contentType(MediaType.APPLICATION_JSON).content(body)
+                            .header(IdempotencyFilter.IDEMPOTENCY_KEY, key))
+                    .andExpect(status().isOk())
+                    .andExpect(header().doesNotExist(IdempotencyFilter.IDEMPOTENT_REPLAYED));
+        }
+    }
+
+    private static MockHttpServletRequestBuilder register(String body) {
+        return post("/api/v1/register").contentType(MediaType.APPLICATION_JSON).content(body);
+    }
+
+    private static String registration() {
+        String unique = UUID.randomUUID().toString().replace("-", "").substring(0, 10);
+        return """
+                {"firstName": "Retry", "lastName": "Client", "dateOfBirth": "1990-01-01",
+                 "phoneNumber": "+35988%s", "email": "%s@example.com", "password": "Password123"}
+                """.formatted(unique.substring(0, 7).replaceAll("\\D", "1"), unique);
+    }
+}
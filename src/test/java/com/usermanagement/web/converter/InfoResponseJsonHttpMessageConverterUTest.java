@@ -0,0 +1,123 @@
+package com.usermanagement.web.converter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.usermanagement.web.dto.ErrorResponse;
+import com.usermanagement.web.dto.InfoResponse;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InfoResponseJsonHttpMessageConverterUTest {
+
+    private static final Type LIST_TYPE = new ParameterizedTypeReference<List<InfoResponse>>() {}.getType();
+
+    private final InfoResponseJsonHttpMessageConverter converter =
+            new InfoResponseJsonHttpMessageConverter(ObservationRegistry.NOOP);
+
+    private final ObjectMapper objectMapper = new Jackson2ObjectMapperBuilder()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    @Test
+    void shouldWriteOnlySupportedTypes() {
+        assertThat(converter.canWrite(InfoResponse.class, InfoResponse.class, MediaType.APPLICATION_JSON)).isTrue();
+        assertThat(converter.canWrite(ErrorResponse.class, ErrorResponse.class, MediaType.APPLICATION_JSON)).isTrue();
+        assertThat(converter.canWrite(LIST_TYPE, List.class, MediaType.APPLICATION_JSON)).isTrue();
+        assertThat(converter.canWrite(new ParameterizedTypeReference<List<String>>() {}.getType(),
+                List.class, MediaType.APPLICATION_JSON)).isFalse();
+        assertThat(converter.canWrite(new ParameterizedTypeReference<Map<String, InfoResponse>>() {}.getType(),
+                Map.class, MediaType.APPLICATION_JSON)).isFalse();
+        assertThat(converter.canWrite(Set.class, Set.class, MediaType.APPLICATION_JSON)).isFalse();
+        assertThat(converter.canWrite(InfoResponse.class, InfoResponse.class, MediaType.APPLICATION_CBOR)).isFalse();
+        assertThat(converter.canRead(InfoResponse.class, null, MediaType.APPLICATION_JSON)).isFalse();
+    }
+
+    @Test
+    void shouldMatchJacksonForInfoResponse() throws IOException {
+        InfoResponse infoResponse = InfoResponse.builder()
+                .firstName("John")
+                .lastName("Doe")
+                .dateOfBirth(LocalDate.of(1990, 1, 1))
+                .phoneNumber("0888123456")
+                .email("john.doe@example.com")
+                .createdAt(LocalDateTime.of(2026, 10, 19, 12, 30))
+                .build();
+
+        assertSameAsJackson(infoResponse, InfoResponse.class);
+    }
+
+    @Test
+    void shouldMatchJacksonForEscapesUnicodeNullsAndFractions() throws IOException {
+        List<InfoResponse> users = new ArrayList<>();
+        users.add(InfoResponse.builder()
+                .firstName("Zoë \"Quote\" \\ / \t\n\r\b\f\u0001\u001f\u007f")
+                .lastName("Иванов 李 😀")
+                .dateOfBirth(LocalDate.of(12, 2, 29))
+                .email("a@b.c")
+                .createdAt(LocalDateTime.of(2026, 1, 1, 0, 0, 0, 120_000_000))
+                .build());
+        users.add(InfoResponse.builder()
+                .lastName("Nanos")
+                .phoneNumber("\uDC00 lone \uD800")
+                .dateOfBirth(LocalDate.of(12345, 6, 7))
+                .createdAt(LocalDateTime.of(1999, 12, 31, 23, 59, 59, 1))
+                .build());
+        users.add(null);
+        users.add(InfoResponse.builder().build());
+
+        assertSameAsJackson(users, LIST_TYPE);
+        assertSameAsJackson(List.of(), LIST_TYPE);
+    }
+
+    @Test
+    void shouldMatchJacksonForErrorResponse() throws IOException {
+        assertSameAsJackson(new ErrorResponse(404, "User with email [x@y.z] not found."), ErrorResponse.class);
+        assertSameAsJackson(new ErrorResponse(-1, null), ErrorResponse.class);
+    }
+
+    @Test
+    void shouldFlushPayloadsLargerThanTheBuffer() throws IOException {
+        List<InfoResponse> users = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            users.add(InfoResponse.builder()
+                    .firstName("First" + i)
+                    .lastName("Łast".repeat(i % 7))
+                    .dateOfBirth(LocalDate.of(1970, 1, 1).plusDays(i))
+                    .phoneNumber("0888" + i)
+                    .email("user" + i + "@example.com")
+                    .createdAt(LocalDateTime.of(2026, 1, 1, 0, 0).plusNanos(i * 1_000_003L))
+                    .build());
+        }
+
+        assertSameAsJackson(users, LIST_TYPE);
+        assertSameAsJackson(users, LIST_TYPE);
+    }
+
+    private void assertSameAsJackson(Object body, Type type) throws IOException {
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+
+        converter.write(body, type, MediaType.APPLICATION_JSON, output);
+
+        assertThat(output.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        byte[] expected = objectMapper.writeValueAsBytes(body);
+        assertThat(Arrays.equals(output.getBodyAsBytes(), expected))
+                .as("%s%nexpected %s", output.getBodyAsString(), new String(expected))
+                .isTrue();
+    }
+}
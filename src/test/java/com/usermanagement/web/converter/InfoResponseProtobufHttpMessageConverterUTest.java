@@ -0,0 +1,93 @@
+package com.usermanagement.web.converter;
+
+import com.google.protobuf.CodedInputStream;
+import com.usermanagement.web.dto.ErrorResponse;
+import com.usermanagement.web.dto.InfoResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InfoResponseProtobufHttpMessageConverterUTest {
+
+    private static final MediaType PROTOBUF = InfoResponseProtobufHttpMessageConverter.APPLICATION_PROTOBUF;
+
+    private final InfoResponseProtobufHttpMessageConverter converter = new InfoResponseProtobufHttpMessageConverter();
+
+    private final InfoResponse infoResponse = InfoResponse.builder()
+            .firstName("John")
+            .lastName("Doe")
+            .dateOfBirth(LocalDate.of(1990, 1, 1))
+            .phoneNumber("0888123456")
+            .email("john.doe@example.com")
+            .createdAt(LocalDateTime.of(2026, 10, 19, 12, 30))
+            .build();
+
+    @Test
+    void shouldWriteOnlySupportedTypes() {
+        assertThat(converter.canWrite(InfoResponse.class, InfoResponse.class, PROTOBUF)).isTrue();
+        assertThat(converter.canWrite(ErrorResponse.class, ErrorResponse.class, PROTOBUF)).isTrue();
+        assertThat(converter.canWrite(new ParameterizedTypeReference<List<InfoResponse>>() {}.getType(),
+                List.class, PROTOBUF)).isTrue();
+        assertThat(converter.canWrite(new ParameterizedTypeReference<List<String>>() {}.getType(),
+                List.class, PROTOBUF)).isFalse();
+        assertThat(converter.canWrite(Set.class, Set.class, PROTOBUF)).isFalse();
+        assertThat(converter.canWrite(InfoResponse.class, InfoResponse.class, MediaType.APPLICATION_JSON)).isFalse();
+    }
+
+    @Test
+    void shouldEncodeInfoResponseFields() throws IOException {
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+
+        converter.write(infoResponse, InfoResponse.class, PROTOBUF, output);
+
+        assertThat(decode(CodedInputStream.newInstance(output.getBodyAsBytes()))).containsExactlyInAnyOrderEntriesOf(Map.of(
+                1, "John",
+                2, "Doe",
+                3, LocalDate.of(1990, 1, 1).toEpochDay(),
+                4, "0888123456",
+                5, "john.doe@example.com",
+                6, LocalDateTime.of(2026, 10, 19, 12, 30).toInstant(ZoneOffset.UTC).toEpochMilli()));
+    }
+
+    @Test
+    void shouldEncodeListAsRepeatedLengthDelimitedMessages() throws IOException {
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+
+        converter.write(List.of(infoResponse, infoResponse),
+                new ParameterizedTypeReference<List<InfoResponse>>() {}.getType(), PROTOBUF, output);
+
+        CodedInputStream input = CodedInputStream.newInstance(output.getBodyAsBytes());
+        int messages = 0;
+        while (!input.isAtEnd()) {
+            assertThat(input.readTag()).isEqualTo(1 << 3 | 2);
+            int limit = input.pushLimit(input.readRawVarint32());
+            assertThat(decode(input)).containsEntry(5, "john.doe@example.com");
+            input.popLimit(limit);
+            messages++;
+        }
+
+        assertThat(messages).isEqualTo(2);
+    }
+
+    private static Map<Integer, Object> decode(CodedInputStream input) throws IOException {
+        Map<Integer, Object> fields = new TreeMap<>();
+        while (!input.isAtEnd()) {
+            int tag = input.readTag();
+            int field = tag >>> 3;
+            fields.put(field, (tag & 7) == 2 ? input.readString() : input.readInt64());
+        }
+        return fields;
+    }
+}